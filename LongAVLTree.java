@@ -0,0 +1,254 @@
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+public class LongAVLTree { //AVL tree of primitive longs stored in parallel arrays (no boxing, no node objects)
+    private static final int NIL = 0; //Slot 0 is the null node: height 0, never allocated
+
+    private long[] keys;     //Key stored in each slot
+    private int[] left;     //Left child slot (also links the free list)
+    private int[] right;    //Right child slot
+    private byte[] height;  //Height of each slot (leaf = 1, NIL = 0)
+    private int root = NIL; //Slot of the root node
+    private int size = 0;   //Number of keys in the tree
+    private int nextSlot = 1; //First never-used slot
+    private int freeList = NIL; //Head of the list of deleted slots, linked through left[]
+    private int[] path = new int[64]; //Reusable root-to-node path for insert/delete
+
+    public LongAVLTree() { this(16); } //Default capacity
+
+    public LongAVLTree(int initialCapacity) { //Preallocate room for initialCapacity keys
+        int capacity = Math.max(initialCapacity, 1) + 1; //Plus the NIL slot
+        keys = new long[capacity];     //Key array
+        left = new int[capacity];     //Left child array
+        right = new int[capacity];    //Right child array
+        height = new byte[capacity];  //Height array
+    }
+
+    public boolean search(long key) { //Search for a key starting at root
+        int current = root; //Start at the root
+        while (current != NIL) { //Traverse until NIL
+            long k = keys[current]; //Key at this node
+            if (key < k) current = left[current];       //Go left if smaller
+            else if (key > k) current = right[current]; //Go right if larger
+            else return true; //Found
+        }
+        return false; //Not found
+    }
+
+    public boolean insert(long key) { //Insert a key and return true if inserted (no duplicates)
+        int depth = 0; //Number of nodes on the path
+        int current = root; //Start at root
+        boolean goLeft = false; //Side to attach on
+        while (current != NIL) { //Descend to a NIL link
+            long k = keys[current]; //Key at this node
+            if (key == k) return false; //Duplicate: nothing changed
+            path[depth++] = current; //Record ancestor
+            goLeft = key < k; //Pick side
+            current = goLeft ? left[current] : right[current]; //Go left or right
+        }
+        int leaf = allocate(key); //New leaf of height 1
+        if (depth == 0) root = leaf; //First key becomes the root
+        else if (goLeft) left[path[depth - 1]] = leaf; //Attach as left child
+        else right[path[depth - 1]] = leaf; //Attach as right child
+        retrace(depth); //Fix heights and rotate on the way up
+        size++; //Increment size
+        return true; //Inserted
+    }
+
+    public boolean delete(long key) { //Delete a key and return true if removed
+        int depth = 0; //Number of nodes on the path
+        int current = root; //Start at root
+        while (current != NIL) { //Search for the target
+            long k = keys[current]; //Key at this node
+            if (key == k) break; //Found node to delete
+            path[depth++] = current; //Record ancestor
+            current = key < k ? left[current] : right[current]; //Go left or right
+        }
+        if (current == NIL) return false; //Not present
+        if (left[current] != NIL && right[current] != NIL) { //Two children: remove the inorder successor instead
+            path[depth++] = current; //Target stays in the tree with a new key
+            int succ = right[current]; //Successor is leftmost in right subtree
+            while (left[succ] != NIL) { path[depth++] = succ; succ = left[succ]; } //Keep recording the path
+            keys[current] = keys[succ]; //Copy successor's key
+            current = succ; //Successor has no left child
+        }
+        int child = left[current] != NIL ? left[current] : right[current]; //At most one child remains
+        if (depth == 0) root = child; //Removed the root
+        else if (left[path[depth - 1]] == current) left[path[depth - 1]] = child; //Unlink from parent's left
+        else right[path[depth - 1]] = child; //Unlink from parent's right
+        release(current); //Return slot to the free list
+        retrace(depth); //Fix heights and rotate on the way up
+        size--; //Decrement size
+        return true; //Deleted
+    }
+
+    public void range(long from, long to, LongConsumer action) { //Feed keys in [from, to] to action in ascending order
+        int[] stack = new int[height[root] + 1]; //AVL height bounds the stack
+        int top = 0; //Stack pointer
+        int node = root; //Start at the root
+        while (node != NIL || top > 0) { //Until the range is exhausted
+            while (node != NIL) { //Push only the part of the left spine that can reach the range
+                if (keys[node] < from) node = right[node]; //Whole left side is below the range
+                else { stack[top++] = node; node = left[node]; } //May have smaller keys in range
+            }
+            if (top == 0) return; //Nothing left
+            node = stack[--top]; //Smallest pending key >= from
+            if (keys[node] > to) return; //Past the range
+            action.accept(keys[node]); //Visit node
+            node = right[node]; //Continue with right subtree
+        }
+    }
+
+    public void inorder(LongConsumer action) { //Feed keys to action in inorder
+        int[] stack = new int[height[root] + 1]; //AVL height bounds the stack
+        int top = 0; //Stack pointer
+        int node = root; //Start at the root
+        while (node != NIL || top > 0) { //Until every node is visited
+            while (node != NIL) { stack[top++] = node; node = left[node]; } //Push left spine
+            node = stack[--top]; //Leftmost unvisited node
+            action.accept(keys[node]); //Visit node
+            node = right[node]; //Continue with right subtree
+        }
+    }
+
+    public void preorder(LongConsumer action) { //Feed keys to action in preorder
+        if (root == NIL) return; //Nothing to visit
+        int[] stack = new int[height[root] + 1]; //At most one pending right child per level plus current
+        int top = 0; //Stack pointer
+        stack[top++] = root; //Start at the root
+        while (top > 0) { //Until every node is visited
+            int node = stack[--top]; //Next subtree root
+            action.accept(keys[node]); //Visit node
+            if (right[node] != NIL) stack[top++] = right[node]; //Right pushed first so left is visited first
+            if (left[node] != NIL) stack[top++] = left[node];   //Left on top
+        }
+    }
+
+    public void postorder(LongConsumer action) { //Feed keys to action in postorder
+        int[] stack = new int[height[root] + 1]; //AVL height bounds the stack
+        int top = 0; //Stack pointer
+        int node = root; //Start at the root
+        int lastVisited = NIL; //Last node handed to action
+        while (node != NIL || top > 0) { //Until every node is visited
+            while (node != NIL) { stack[top++] = node; node = left[node]; } //Push left spine
+            int peek = stack[top - 1]; //Deepest pending ancestor
+            if (right[peek] != NIL && right[peek] != lastVisited) node = right[peek]; //Right subtree not done yet
+            else { action.accept(keys[peek]); lastVisited = stack[--top]; } //Both subtrees done: visit
+        }
+    }
+
+    public void inorder() { WilnerTreePrinter.stdout(this::inorder); }     //Print inorder traversal
+    public void preorder() { WilnerTreePrinter.stdout(this::preorder); }   //Print preorder traversal
+    public void postorder() { WilnerTreePrinter.stdout(this::postorder); } //Print postorder traversal
+
+    public void inorder(Appendable out) throws IOException { print(out, 0); }   //Write inorder keys and a line break to out, no boxing or Strings
+    public void preorder(Appendable out) throws IOException { print(out, 1); }  //Write preorder keys and a line break to out
+    public void postorder(Appendable out) throws IOException { print(out, 2); } //Write postorder keys and a line break to out
+
+    private void print(Appendable out, int order) throws IOException { //Stream one traversal through a bounded buffer
+        WilnerTreePrinter p = new WilnerTreePrinter(out); //Fixed 8K char buffer
+        p.line(c -> { if (order == 0) inorder((LongConsumer)c); else if (order == 1) preorder((LongConsumer)c); else postorder((LongConsumer)c); }); //Digits go straight into the buffer
+        p.flush(); //Hand over the rest
+    }
+
+    public long[] inorderArray() { //Return keys in ascending order
+        long[] out = new long[size]; //Exactly sized result
+        int[] i = {0}; //Write index captured by the lambda
+        inorder(k -> out[i[0]++] = k); //Fill sequentially
+        return out; //Return the array
+    }
+
+    public int getSize() { return size; } //Return the number of keys
+
+    public boolean isEmpty() { return size == 0; } //Empty if size is zero
+
+    public void clear() { //Remove all keys, keep the allocated arrays
+        root = NIL; //Drop the tree
+        size = 0; //Reset size
+        nextSlot = 1; //Reuse every slot from the start
+        freeList = NIL; //Free list is implied by nextSlot again
+    }
+
+    private int allocate(long key) { //Take a slot from the free list or the end of the arrays
+        int slot; //Slot to use
+        if (freeList != NIL) { slot = freeList; freeList = left[slot]; } //Pop a deleted slot
+        else { //Use a fresh slot
+            if (nextSlot == keys.length) grow(); //Out of room
+            slot = nextSlot++; //Claim it
+        }
+        keys[slot] = key; //Store key
+        left[slot] = NIL; //No children yet
+        right[slot] = NIL;
+        height[slot] = 1; //Leaf height
+        return slot; //Return new slot
+    }
+
+    private void release(int slot) { //Push a slot onto the free list
+        left[slot] = freeList; //Link through left[]
+        right[slot] = NIL; //Clear stale child
+        freeList = slot; //New head
+    }
+
+    private void grow() { //Grow all parallel arrays by half
+        int capacity = keys.length + (keys.length >> 1) + 1; //New capacity
+        keys = Arrays.copyOf(keys, capacity); //Copy keys
+        left = Arrays.copyOf(left, capacity); //Copy left links
+        right = Arrays.copyOf(right, capacity); //Copy right links
+        height = Arrays.copyOf(height, capacity); //Copy heights
+    }
+
+    private void retrace(int depth) { //Walk recorded path bottom-up, stop once heights settle
+        for (int i = depth - 1; i >= 0; i--) { //From the deepest ancestor to the root
+            int node = path[i]; //Ancestor whose subtree changed
+            int oldHeight = height[node]; //Height before this mutation
+            updateHeight(node); //Recompute height from children
+            int sub = rebalance(node); //Rotate if out of balance
+            if (sub != node) { //Subtree root changed: relink it
+                if (i == 0) root = sub; //New root of the tree
+                else if (left[path[i - 1]] == node) left[path[i - 1]] = sub; //Parent's left link
+                else right[path[i - 1]] = sub; //Parent's right link
+            }
+            if (height[sub] == oldHeight) return; //Height unchanged: ancestors are unaffected
+        }
+    }
+
+    private void updateHeight(int n) { //Recompute height from children (NIL has height 0)
+        height[n] = (byte)(Math.max(height[left[n]], height[right[n]]) + 1); //1 + max child height
+    }
+
+    private int balanceFactor(int n) { //Left height minus right height
+        return height[left[n]] - height[right[n]]; //Balance factor
+    }
+
+    private int rebalance(int z) { //Rebalance at node z and return new subtree root
+        int bf = balanceFactor(z); //Compute balance factor
+        if (bf > 1) { //Left heavy
+            if (balanceFactor(left[z]) < 0) left[z] = rotateLeft(left[z]); //Left-Right case
+            return rotateRight(z); //Left-Left case
+        }
+        if (bf < -1) { //Right heavy
+            if (balanceFactor(right[z]) > 0) right[z] = rotateRight(right[z]); //Right-Left case
+            return rotateLeft(z); //Right-Right case
+        }
+        return z; //Already balanced
+    }
+
+    private int rotateRight(int y) { //Right rotation
+        int x = left[y]; //x becomes new root of subtree
+        left[y] = right[x]; //Move x's right subtree to y's left
+        right[x] = y; //Put y as right child of x
+        updateHeight(y); //Update height of y
+        updateHeight(x); //Update height of x
+        return x; //Return new root
+    }
+
+    private int rotateLeft(int y) { //Left rotation
+        int x = right[y]; //x becomes new root of subtree
+        right[y] = left[x]; //Move x's left subtree to y's right
+        left[x] = y; //Put y as left child of x
+        updateHeight(y); //Update height of y
+        updateHeight(x); //Update height of x
+        return x; //Return new root
+    }
+}
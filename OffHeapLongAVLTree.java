@@ -0,0 +1,338 @@
+import java.io.*;
+import java.lang.reflect.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+public class OffHeapLongAVLTree implements AutoCloseable { //AVL tree of longs whose nodes live outside the Java heap (direct or file-mapped slabs)
+    private static final int NIL = 0;          //Node 0 is the null node: height 0, never allocated
+    private static final int NODE_BYTES = 24;  //key (8), left (4), right (4), height (4), spare (4)
+    private static final int KEY = 0, LEFT = 8, RIGHT = 12, HEIGHT = 16; //Field offsets within a node
+    private static final int SLAB_SHIFT = 16;  //65536 nodes (1.5 MiB) per slab
+    private static final int SLAB_NODES = 1 << SLAB_SHIFT;
+    private static final int SLAB_MASK = SLAB_NODES - 1;
+    private static final long SLAB_BYTES = (long)SLAB_NODES * NODE_BYTES;
+    private static final int MAGIC = 0x4C565641; //"AVVL" little-endian, marks an initialised file
+    private static final int META_ROOT = 0, META_SIZE = 4, META_NEXT = 8, META_FREE = 12, META_MAGIC = 20; //File metadata kept in node 0's unused fields
+
+    private final FileChannel channel; //Backing file, null for anonymous direct memory
+    private ByteBuffer[] slabs = new ByteBuffer[4]; //Node storage; slab i holds nodes [i << SLAB_SHIFT, (i + 1) << SLAB_SHIFT)
+    private int slabCount = 0; //Slabs allocated so far
+    private int root = NIL;    //Node of the root
+    private int size = 0;      //Number of keys in the tree
+    private int nextSlot = 1;  //First never-used node
+    private int freeList = NIL; //Head of the list of deleted nodes, linked through LEFT
+    private final int[] path = new int[64]; //Reusable root-to-node path for insert/delete
+
+    public OffHeapLongAVLTree() { //Anonymous off-heap memory, released by close()
+        channel = null; //No file
+        addSlab(); //Slab 0 holds NIL
+    }
+
+    public OffHeapLongAVLTree(Path file) throws IOException { //Memory-mapped file; reopens the tree if the file already holds one
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE); //Read-write mapping
+        long existing = channel.size(); //Bytes already in the file
+        int slabsInFile = (int)((existing + SLAB_BYTES - 1) / SLAB_BYTES); //Slabs to map back in
+        for (int i = 0; i < Math.max(slabsInFile, 1); i++) addSlab(); //Map every slab, at least the one holding NIL
+        ByteBuffer meta = slabs[0]; //Metadata lives in node 0
+        if (existing > 0 && meta.getInt(META_MAGIC) == MAGIC) { //Existing tree: restore its state
+            root = meta.getInt(META_ROOT); size = meta.getInt(META_SIZE); //Shape
+            nextSlot = meta.getInt(META_NEXT); freeList = meta.getInt(META_FREE); //Allocator
+        } else if (existing > 0) { //Something else
+            channel.close(); //Do not leak the channel
+            throw new IOException("not an off-heap AVL file: " + file); //Refuse to overwrite it
+        }
+        meta.putInt(META_MAGIC, MAGIC); //Mark initialised
+        saveMeta(); //Write the (possibly fresh) metadata
+    }
+
+    public boolean search(long key) { //Search for a key starting at root
+        ensureOpen(); //Closed trees have no memory
+        int current = root; //Start at the root
+        while (current != NIL) { //Traverse until NIL
+            long k = key(current); //Key at this node
+            if (key < k) current = left(current);       //Go left if smaller
+            else if (key > k) current = right(current); //Go right if larger
+            else return true; //Found
+        }
+        return false; //Not found
+    }
+
+    public boolean insert(long key) { //Insert a key and return true if inserted (no duplicates)
+        ensureOpen(); //Closed trees have no memory
+        int depth = 0; //Number of nodes on the path
+        int current = root; //Start at root
+        boolean goLeft = false; //Side to attach on
+        while (current != NIL) { //Descend to a NIL link
+            long k = key(current); //Key at this node
+            if (key == k) return false; //Duplicate: nothing changed
+            path[depth++] = current; //Record ancestor
+            goLeft = key < k; //Pick side
+            current = goLeft ? left(current) : right(current); //Go left or right
+        }
+        int leaf = allocate(key); //New leaf of height 1
+        if (depth == 0) root = leaf; //First key becomes the root
+        else if (goLeft) setLeft(path[depth - 1], leaf); //Attach as left child
+        else setRight(path[depth - 1], leaf); //Attach as right child
+        retrace(depth); //Fix heights and rotate on the way up
+        size++; //Increment size
+        saveMeta(); //Keep a mapped file consistent
+        return true; //Inserted
+    }
+
+    public boolean delete(long key) { //Delete a key and return true if removed
+        ensureOpen(); //Closed trees have no memory
+        int depth = 0; //Number of nodes on the path
+        int current = root; //Start at root
+        while (current != NIL) { //Search for the target
+            long k = key(current); //Key at this node
+            if (key == k) break; //Found node to delete
+            path[depth++] = current; //Record ancestor
+            current = key < k ? left(current) : right(current); //Go left or right
+        }
+        if (current == NIL) return false; //Not present
+        if (left(current) != NIL && right(current) != NIL) { //Two children: remove the inorder successor instead
+            path[depth++] = current; //Target stays in the tree with a new key
+            int succ = right(current); //Successor is leftmost in right subtree
+            while (left(succ) != NIL) { path[depth++] = succ; succ = left(succ); } //Keep recording the path
+            setKey(current, key(succ)); //Copy successor's key
+            current = succ; //Successor has no left child
+        }
+        int child = left(current) != NIL ? left(current) : right(current); //At most one child remains
+        if (depth == 0) root = child; //Removed the root
+        else if (left(path[depth - 1]) == current) setLeft(path[depth - 1], child); //Unlink from parent's left
+        else setRight(path[depth - 1], child); //Unlink from parent's right
+        release(current); //Return node to the free list
+        retrace(depth); //Fix heights and rotate on the way up
+        size--; //Decrement size
+        saveMeta(); //Keep a mapped file consistent
+        return true; //Deleted
+    }
+
+    public void range(long from, long to, LongConsumer action) { //Feed keys in [from, to] to action in ascending order
+        ensureOpen(); //Closed trees have no memory
+        int[] stack = new int[height(root) + 1]; //AVL height bounds the stack
+        int top = 0; //Stack pointer
+        int node = root; //Start at the root
+        while (node != NIL || top > 0) { //Until the range is exhausted
+            while (node != NIL) { //Push only the part of the left spine that can reach the range
+                if (key(node) < from) node = right(node); //Whole left side is below the range
+                else { stack[top++] = node; node = left(node); } //May have smaller keys in range
+            }
+            if (top == 0) return; //Nothing left
+            node = stack[--top]; //Smallest pending key >= from
+            long k = key(node); //Its key
+            if (k > to) return; //Past the range
+            action.accept(k); //Visit node
+            node = right(node); //Continue with right subtree
+        }
+    }
+
+    public void inorder(LongConsumer action) { range(Long.MIN_VALUE, Long.MAX_VALUE, action); } //Feed keys to action in inorder
+
+    public void preorder(LongConsumer action) { //Feed keys to action in preorder
+        ensureOpen(); //Closed trees have no memory
+        if (root == NIL) return; //Nothing to visit
+        int[] stack = new int[height(root) + 1]; //At most one pending right child per level plus current
+        int top = 0; //Stack pointer
+        stack[top++] = root; //Start at the root
+        while (top > 0) { //Until every node is visited
+            int node = stack[--top]; //Next subtree root
+            action.accept(key(node)); //Visit node
+            if (right(node) != NIL) stack[top++] = right(node); //Right pushed first so left is visited first
+            if (left(node) != NIL) stack[top++] = left(node);   //Left on top
+        }
+    }
+
+    public void postorder(LongConsumer action) { //Feed keys to action in postorder
+        ensureOpen(); //Closed trees have no memory
+        int[] stack = new int[height(root) + 1]; //AVL height bounds the stack
+        int top = 0; //Stack pointer
+        int node = root; //Start at the root
+        int lastVisited = NIL; //Last node handed to action
+        while (node != NIL || top > 0) { //Until every node is visited
+            while (node != NIL) { stack[top++] = node; node = left(node); } //Push left spine
+            int peek = stack[top - 1]; //Deepest pending ancestor
+            if (right(peek) != NIL && right(peek) != lastVisited) node = right(peek); //Right subtree not done yet
+            else { action.accept(key(peek)); lastVisited = stack[--top]; } //Both subtrees done: visit
+        }
+    }
+
+    public void inorder() { WilnerTreePrinter.stdout(this::inorder); }     //Print inorder traversal
+    public void preorder() { WilnerTreePrinter.stdout(this::preorder); }   //Print preorder traversal
+    public void postorder() { WilnerTreePrinter.stdout(this::postorder); } //Print postorder traversal
+
+    public void inorder(Appendable out) throws IOException { print(out, 0); }   //Write inorder keys and a line break to out, no boxing or Strings
+    public void preorder(Appendable out) throws IOException { print(out, 1); }  //Write preorder keys and a line break to out
+    public void postorder(Appendable out) throws IOException { print(out, 2); } //Write postorder keys and a line break to out
+
+    private void print(Appendable out, int order) throws IOException { //Stream one traversal through a bounded buffer
+        WilnerTreePrinter p = new WilnerTreePrinter(out); //Fixed 8K char buffer
+        p.line(c -> { if (order == 0) inorder((LongConsumer)c); else if (order == 1) preorder((LongConsumer)c); else postorder((LongConsumer)c); }); //Digits go straight into the buffer
+        p.flush(); //Hand over the rest
+    }
+
+    public int getSize() { return size; } //Return the number of keys
+
+    public boolean isEmpty() { return size == 0; } //Empty if size is zero
+
+    public int height() { ensureOpen(); return height(root); } //Number of levels, 0 if empty
+
+    public long offHeapBytes() { return slabCount * SLAB_BYTES; } //Memory reserved outside the heap
+
+    public void clear() { //Remove all keys, keep the allocated slabs
+        ensureOpen(); //Closed trees have no memory
+        root = NIL; //Drop the tree
+        size = 0; //Reset size
+        nextSlot = 1; //Reuse every node from the start
+        freeList = NIL; //Free list is implied by nextSlot again
+        saveMeta(); //Keep a mapped file consistent
+    }
+
+    public void force() throws IOException { //Flush a file-backed tree to disk
+        ensureOpen(); //Closed trees have no memory
+        if (channel == null) return; //Nothing to flush
+        for (int i = 0; i < slabCount; i++) ((MappedByteBuffer)slabs[i]).force(); //Dirty pages of every slab
+    }
+
+    @Override
+    public void close() throws IOException { //Release the off-heap memory now instead of at some later GC
+        if (slabs == null) return; //Already closed
+        if (channel != null) force(); //Persist before unmapping
+        for (int i = 0; i < slabCount; i++) free(slabs[i]); //Unmap or free each slab
+        slabs = null; //Any further use fails fast
+        slabCount = 0; //Nothing reserved
+        if (channel != null) channel.close(); //Release the file
+    }
+
+    private void ensureOpen() { //Guard against use after close()
+        if (slabs == null) throw new IllegalStateException("tree is closed"); //Memory is gone
+    }
+
+    private long key(int n) { return slabs[n >>> SLAB_SHIFT].getLong((n & SLAB_MASK) * NODE_BYTES + KEY); }     //Key of node n
+    private int left(int n) { return slabs[n >>> SLAB_SHIFT].getInt((n & SLAB_MASK) * NODE_BYTES + LEFT); }     //Left child of node n
+    private int right(int n) { return slabs[n >>> SLAB_SHIFT].getInt((n & SLAB_MASK) * NODE_BYTES + RIGHT); }   //Right child of node n
+    private int height(int n) { return slabs[n >>> SLAB_SHIFT].getInt((n & SLAB_MASK) * NODE_BYTES + HEIGHT); } //Height of node n (NIL = 0)
+    private void setKey(int n, long k) { slabs[n >>> SLAB_SHIFT].putLong((n & SLAB_MASK) * NODE_BYTES + KEY, k); }     //Store key
+    private void setLeft(int n, int c) { slabs[n >>> SLAB_SHIFT].putInt((n & SLAB_MASK) * NODE_BYTES + LEFT, c); }     //Store left child
+    private void setRight(int n, int c) { slabs[n >>> SLAB_SHIFT].putInt((n & SLAB_MASK) * NODE_BYTES + RIGHT, c); }   //Store right child
+    private void setHeight(int n, int h) { slabs[n >>> SLAB_SHIFT].putInt((n & SLAB_MASK) * NODE_BYTES + HEIGHT, h); } //Store height
+
+    private void saveMeta() { //Mirror tree state into node 0 so a mapped file can be reopened
+        if (channel == null) return; //Anonymous memory is never reopened
+        ByteBuffer meta = slabs[0]; //Node 0's key/left/right fields are never read as a node
+        meta.putInt(META_ROOT, root).putInt(META_SIZE, size).putInt(META_NEXT, nextSlot).putInt(META_FREE, freeList); //Shape and allocator
+    }
+
+    private int allocate(long key) { //Take a node from the free list or the end of the slabs
+        int slot; //Node to use
+        if (freeList != NIL) { slot = freeList; freeList = left(slot); } //Pop a deleted node
+        else { //Use a fresh node
+            if (nextSlot == Integer.MAX_VALUE) throw new IllegalStateException("tree is full"); //Node ids are ints
+            if ((nextSlot >>> SLAB_SHIFT) == slabCount) addSlab(); //Out of room
+            slot = nextSlot++; //Claim it
+        }
+        setKey(slot, key); //Store key
+        setLeft(slot, NIL); //No children yet
+        setRight(slot, NIL);
+        setHeight(slot, 1); //Leaf height
+        return slot; //Return new node
+    }
+
+    private void release(int slot) { //Push a node onto the free list
+        setLeft(slot, freeList); //Link through LEFT
+        setRight(slot, NIL); //Clear stale child
+        freeList = slot; //New head
+    }
+
+    private void addSlab() { //Reserve one more slab of nodes
+        if (slabCount == slabs.length) slabs = Arrays.copyOf(slabs, slabs.length * 2); //Grow the slab table (on-heap, tiny)
+        ByteBuffer slab; //New storage
+        try { //Direct memory or a window of the file
+            slab = channel == null ? ByteBuffer.allocateDirect((int)SLAB_BYTES) //Zeroed, so NIL starts with height 0
+                                   : channel.map(FileChannel.MapMode.READ_WRITE, slabCount * SLAB_BYTES, SLAB_BYTES); //Extends the file as needed
+        } catch (IOException ex) { //Disk full or mapping refused
+            throw new UncheckedIOException("cannot map slab " + slabCount, ex); //Insert cannot throw IOException
+        }
+        slabs[slabCount++] = slab.order(ByteOrder.LITTLE_ENDIAN); //Same layout in memory and on disk
+    }
+
+    private static void free(ByteBuffer slab) { //Unmap or free a direct buffer immediately
+        if (UNSAFE == null || INVOKE_CLEANER == null) return; //Unavailable: the GC will release it
+        try { INVOKE_CLEANER.invoke(UNSAFE, slab); } //Runs the buffer's cleaner now
+        catch (ReflectiveOperationException ex) { /* fall back to GC release */ } //Best effort
+    }
+
+    private static final Object UNSAFE;          //sun.misc.Unsafe instance (jdk.unsupported), or null
+    private static final Method INVOKE_CLEANER;  //Unsafe.invokeCleaner(ByteBuffer), or null
+
+    static { //Look up the supported-but-unofficial way to free direct buffers eagerly
+        Object unsafe = null; //Default: not available
+        Method cleaner = null; //Default: not available
+        try {
+            Class<?> c = Class.forName("sun.misc.Unsafe"); //Exported by jdk.unsupported
+            Field f = c.getDeclaredField("theUnsafe"); //Singleton
+            f.setAccessible(true); //Allowed for jdk.unsupported
+            unsafe = f.get(null); //Instance
+            cleaner = c.getMethod("invokeCleaner", ByteBuffer.class); //Java 9+
+        } catch (ReflectiveOperationException | RuntimeException ex) { unsafe = null; cleaner = null; } //Not on this runtime
+        UNSAFE = unsafe; //Publish
+        INVOKE_CLEANER = cleaner;
+    }
+
+    private void retrace(int depth) { //Walk recorded path bottom-up, stop once heights settle
+        for (int i = depth - 1; i >= 0; i--) { //From the deepest ancestor to the root
+            int node = path[i]; //Ancestor whose subtree changed
+            int oldHeight = height(node); //Height before this mutation
+            updateHeight(node); //Recompute height from children
+            int sub = rebalance(node); //Rotate if out of balance
+            if (sub != node) { //Subtree root changed: relink it
+                if (i == 0) root = sub; //New root of the tree
+                else if (left(path[i - 1]) == node) setLeft(path[i - 1], sub); //Parent's left link
+                else setRight(path[i - 1], sub); //Parent's right link
+            }
+            if (height(sub) == oldHeight) return; //Height unchanged: ancestors are unaffected
+        }
+    }
+
+    private void updateHeight(int n) { //Recompute height from children (NIL has height 0)
+        setHeight(n, Math.max(height(left(n)), height(right(n))) + 1); //1 + max child height
+    }
+
+    private int balanceFactor(int n) { //Left height minus right height
+        return height(left(n)) - height(right(n)); //Balance factor
+    }
+
+    private int rebalance(int z) { //Rebalance at node z and return new subtree root
+        int bf = balanceFactor(z); //Compute balance factor
+        if (bf > 1) { //Left heavy
+            if (balanceFactor(left(z)) < 0) setLeft(z, rotateLeft(left(z))); //Left-Right case
+            return rotateRight(z); //Left-Left case
+        }
+        if (bf < -1) { //Right heavy
+            if (balanceFactor(right(z)) > 0) setRight(z, rotateRight(right(z))); //Right-Left case
+            return rotateLeft(z); //Right-Right case
+        }
+        return z; //Already balanced
+    }
+
+    private int rotateRight(int y) { //Right rotation
+        int x = left(y); //x becomes new root of subtree
+        setLeft(y, right(x)); //Move x's right subtree to y's left
+        setRight(x, y); //Put y as right child of x
+        updateHeight(y); //Update height of y
+        updateHeight(x); //Update height of x
+        return x; //Return new root
+    }
+
+    private int rotateLeft(int y) { //Left rotation
+        int x = right(y); //x becomes new root of subtree
+        setRight(y, left(x)); //Move x's left subtree to y's right
+        setLeft(x, y); //Put y as left child of x
+        updateHeight(y); //Update height of y
+        updateHeight(x); //Update height of x
+        return x; //Return new root
+    }
+}
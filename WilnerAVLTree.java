@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 public class WilnerAVLTree<E extends Comparable<E>> extends WilnerBinarySearchTree<E> {
     protected class WilnerAVLTreeNode<T> extends WilnerTreeNode<T> { //Extend base node with height
@@ -6,61 +8,310 @@ public class WilnerAVLTree<E extends Comparable<E>> extends WilnerBinarySearchTr
         WilnerAVLTreeNode(T e) { super(e); } //Constructor delegates to super
     }
     
+    private static final int UNION = 0, INTERSECTION = 1, DIFFERENCE = 2; //Join-based set operations
+    private static final int PARALLEL_HEIGHT = 14; //Fork subproblems whose other-side subtree is at least this tall
+    
+    private WilnerAVLTreeNode<E>[] path; //Reusable root-to-node path for insert/delete
+    private E[] pending;             //Writes from bufferInsert/bufferDelete in arrival order; null when write buffering is off
+    private boolean[] pendingInsert; //Operation per entry: true = insert, false = delete
+    private E[] pendingScratch;      //Merge-sort scratch, then the resolved deletes of a batch
+    private boolean[] scratchInsert; //Merge-sort scratch for the operations
+    private int pendingCount;        //Entries in pending
+    
+    public WilnerAVLTree() {} //No-arg constructor
+    
+    public WilnerAVLTree(E[] objects) { //Construct from array with a balanced linear-time build
+        super(objects); //bulkLoad uses createNode/updateNode so heights are set during the build
+    }
+    
     @Override
-    public boolean insert(E e) { //Override insert to rebalance
+    protected WilnerTreeNode<E> createNode(E e) { //AVL trees use height-carrying nodes
+        return new WilnerAVLTreeNode<>(e); //New leaf of height 1
+    }
+    
+    @Override
+    protected void updateNode(WilnerTreeNode<E> node) { //Keep stored height in sync with children
+        updateHeight((WilnerAVLTreeNode<E>)node); //Height from children
+        super.updateNode(node); //Subtree count when order statistics are enabled
+    }
+    
+    @SuppressWarnings("unchecked")
+    public void setWriteBuffer(int capacity) { //Let bufferInsert/bufferDelete defer up to capacity writes and apply them as one sorted batch; 0 turns buffering off
+        if (capacity < 0) throw new IllegalArgumentException("capacity < 0"); //Nonsense
+        applyBufferedWrites(); //Writes already buffered go in under the old setting
+        if (capacity == 0) { pending = pendingScratch = null; pendingInsert = scratchInsert = null; return; } //Back to immediate writes
+        pending = (E[])new Comparable<?>[capacity]; //Arrival order
+        pendingInsert = new boolean[capacity]; //Operation per entry
+        pendingScratch = (E[])new Comparable<?>[capacity]; //Sort scratch
+        scratchInsert = new boolean[capacity]; //Sort scratch
+    }
+    
+    public int getWriteBufferCapacity() { //Writes buffered before an automatic flush, 0 if buffering is off
+        return pending == null ? 0 : pending.length; //Current capacity
+    }
+    
+    public void flush() { //Apply buffered writes now instead of at the next read or when the buffer fills
+        applyBufferedWrites(); //No-op when nothing is buffered
+    }
+    
+    public void bufferInsert(E e) { //Insert without a result: with write buffering on it is only appended, and duplicates are resolved by the batch merge
+        if (pending == null) insert(e); //Buffering off: immediate
+        else bufferWrite(e, true); //Deferred to the next batch
+    }
+    
+    public void bufferDelete(E e) { //Delete without a result: with write buffering on it is only appended, and misses are resolved by the batch merge
+        if (pending == null) delete(e); //Buffering off: immediate
+        else bufferWrite(e, false); //Deferred to the next batch
+    }
+    
+    @Override
+    public boolean search(E e) { //Buffered writes go in first, so the answer reflects them
+        applyBufferedWrites(); //No-op when nothing is buffered
+        return super.search(e); //Tree holds the latest state of e
+    }
+    
+    @Override
+    public boolean insert(E e) { //Single descent: find slot or duplicate, then retrace upward
+        applyBufferedWrites(); //Exact result: earlier buffered writes go in first
         if (root == null) { //Empty tree
-            root = new WilnerAVLTreeNode<>(e); //New root as AVL node
+            root = createNode(e); //New root as AVL node
             size++; //Increment size
+            modCount++; //Record structural change
+            if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, 0, 0); //Instrumentation
             return true; //Inserted
         }
-        if (search(e)) return false; //Do not insert duplicates
-        root = insert((WilnerAVLTreeNode<E>)root, e); //Insert recursively and rebalance from root
+        if (fingerEnabled) return fingerInsert(e); //Resume from the last touched position
+        WilnerAVLTreeNode<E>[] path = pathBuffer(); //Ancestors of the new leaf, root first
+        int depth = 0; //Number of nodes on the path
+        WilnerAVLTreeNode<E> current = (WilnerAVLTreeNode<E>)root; //Start at root
+        int cmp = 0; //Last comparison result picks the side to attach on
+        while (current != null) { //Descend to a null link
+            cmp = e.compareTo(current.element); //Compare values
+            if (cmp == 0) { //Duplicate: nothing changed
+                Arrays.fill(path, 0, depth, null); //Release the path
+                if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, depth + 1, depth + 1); //Instrumentation
+                return false; //Not inserted
+            }
+            path[depth++] = current; //Record ancestor
+            current = (WilnerAVLTreeNode<E>)(cmp < 0 ? current.left : current.right); //Go left or right
+        }
+        WilnerTreeNode<E> leaf = createNode(e); //New leaf of height 1
+        if (cmp < 0) path[depth - 1].left = leaf; //Attach as left child
+        else path[depth - 1].right = leaf;       //Attach as right child
+        retrace(path, depth); //Fix heights and rotate on the way up
+        if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, depth, depth); //Instrumentation (after rotations are counted)
         size++; //Increment size
+        modCount++; //Record structural change
         return true; //Inserted
     }
     
-    private WilnerAVLTreeNode<E> insert(WilnerAVLTreeNode<E> node, E e) { //Recursive AVL insert
-        if (node == null) return new WilnerAVLTreeNode<>(e); //Create new leaf
-        int cmp = e.compareTo(node.element); //Compare values
-        if (cmp < 0) node.left = insert((WilnerAVLTreeNode<E>)node.left, e); //Insert left
-        else node.right = insert((WilnerAVLTreeNode<E>)node.right, e);       //Insert right
-        updateHeight(node); //Update node height after insertion
-        return rebalance(node); //Rebalance and return new subtree root
+    @SuppressWarnings("unchecked")
+    private boolean fingerInsert(E e) { //insert() with finger search; the finger is the retrace path
+        int depth = fingerDescend(e); //Path to the attach point, shared prefix reused
+        if (fingerCmp == 0) { //Duplicate: nothing changed
+            if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, fingerSteps, fingerSteps); //Instrumentation
+            return false; //Not inserted
+        }
+        WilnerAVLTreeNode<E>[] path = (WilnerAVLTreeNode<E>[])finger; //Allocated by newPath, so AVL-typed
+        WilnerTreeNode<E> leaf = createNode(e); //New leaf of height 1
+        if (fingerCmp < 0) path[depth - 1].left = leaf; //Attach as left child
+        else path[depth - 1].right = leaf;             //Attach as right child
+        int valid = retrace(path, depth); //Rotations cut the finger at the rotated subtree
+        if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, fingerSteps, fingerSteps); //Instrumentation
+        size++; //Increment size
+        modCount++; //Record structural change
+        fingerDepth = valid; //Still a root-to-node path
+        fingerModCount = modCount; //Valid for the next operation
+        return true; //Inserted
     }
     
     @Override
-    public boolean delete(E e) { //Override delete to rebalance
-        if (!search(e)) return false; //If not present, nothing to delete
-        root = delete((WilnerAVLTreeNode<E>)root, e); //Delete and rebalance from root
+    public boolean delete(E e) { //Single descent: find node (or miss), splice it out, then retrace upward
+        applyBufferedWrites(); //Exact result: earlier buffered writes go in first
+        if (root == null) return false; //Nothing to delete
+        WilnerAVLTreeNode<E>[] path = pathBuffer(); //Ancestors of the removed node, root first
+        int depth = 0; //Number of nodes on the path
+        WilnerAVLTreeNode<E> current = (WilnerAVLTreeNode<E>)root; //Start at root
+        while (current != null) { //Search for the target
+            int cmp = e.compareTo(current.element); //Compare target
+            if (cmp == 0) break; //Found node to delete
+            path[depth++] = current; //Record ancestor
+            current = (WilnerAVLTreeNode<E>)(cmp < 0 ? current.left : current.right); //Go left or right
+        }
+        if (current == null) { //Not present: nothing changed
+            Arrays.fill(path, 0, depth, null); //Release the path
+            if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.DELETE, depth, depth); //Instrumentation
+            return false; //Nothing deleted
+        }
+        int compares = depth + 1; //Search compareTo calls, including the hit
+        forget(current.element); //No longer present
+        if (current.left != null && current.right != null) { //Two children: remove the inorder successor instead
+            path[depth++] = current; //Target stays in the tree with a new element
+            WilnerAVLTreeNode<E> succ = (WilnerAVLTreeNode<E>)current.right; //Successor is leftmost in right subtree
+            while (succ.left != null) { path[depth++] = succ; succ = (WilnerAVLTreeNode<E>)succ.left; } //Keep recording the path
+            current.element = succ.element; //Copy successor's value
+            current = succ; //Successor has no left child, so it is easy to unlink
+        }
+        WilnerTreeNode<E> child = current.left != null ? current.left : current.right; //At most one child remains
+        if (depth == 0) root = child; //Removed the root
+        else if (path[depth - 1].left == current) path[depth - 1].left = child; //Unlink from parent's left
+        else path[depth - 1].right = child; //Unlink from parent's right
+        retrace(path, depth); //Fix heights and rotate on the way up
+        if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.DELETE, compares, depth + 1); //Instrumentation (path includes the successor walk)
         size--; //Decrement size
+        modCount++; //Record structural change
         return true; //Deleted
     }
     
-    private WilnerAVLTreeNode<E> delete(WilnerAVLTreeNode<E> node, E e) { //Recursive AVL delete
-        if (node == null) return null; //Base case
-        int cmp = e.compareTo(node.element); //Compare target
-        if (cmp < 0) node.left = delete((WilnerAVLTreeNode<E>)node.left, e); //Go left
-        else if (cmp > 0) node.right = delete((WilnerAVLTreeNode<E>)node.right, e); //Go right
-        else { //Found node to delete
-            if (node.left == null) return (WilnerAVLTreeNode<E>)node.right;  //Replace by right child
-            if (node.right == null) return (WilnerAVLTreeNode<E>)node.left;  //Replace by left child
-            WilnerAVLTreeNode<E> succ = minNode((WilnerAVLTreeNode<E>)node.right); //Find inorder successor
-            node.element = succ.element; //Copy successor's value
-            node.right = delete((WilnerAVLTreeNode<E>)node.right, succ.element); //Delete successor
+    private int retrace(WilnerAVLTreeNode<E>[] path, int depth) { //Walk recorded path bottom-up, stop once heights settle; returns how much of it is still a valid path
+        boolean keep = path == finger; //The finger survives the retrace; the scratch buffer is released
+        int valid = depth; //Entries [0, valid) still form a root-to-node path
+        for (int i = depth - 1; i >= 0; i--) { //From the deepest ancestor to the root
+            WilnerAVLTreeNode<E> node = path[i]; //Ancestor whose subtree changed
+            if (!keep) path[i] = null; //Do not keep nodes reachable from the shared buffer
+            int oldHeight = node.height; //Height before this mutation
+            updateNode(node); //Recompute height from children
+            WilnerAVLTreeNode<E> sub = rebalance(node); //Rotate if out of balance
+            if (sub != node) { //Subtree root changed: relink it
+                if (i == 0) root = sub; //New root of the tree
+                else if (path[i - 1].left == node) path[i - 1].left = sub; //Parent's left link
+                else path[i - 1].right = sub; //Parent's right link
+                if (keep) { path[i] = sub; valid = i + 1; } //Same key range, new root; deeper entries moved
+            }
+            if (sub.height == oldHeight) { //Height unchanged: ancestors need no rebalancing
+                for (int j = i - 1; j >= 0 && orderStatistics; j--) updateNode(path[j]); //Counts still change all the way up
+                if (!keep) Arrays.fill(path, 0, i, null); //Release the rest of the path
+                return valid; //Done early
+            }
+        }
+        return valid; //Reached the root
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    protected WilnerTreeNode<E>[] newPath(int length) { //Finger entries double as retrace paths, so they must be AVL-typed
+        return (WilnerTreeNode<E>[])new WilnerAVLTree<?>.WilnerAVLTreeNode<?>[length]; //AVL nodes
+    }
+    
+    @SuppressWarnings("unchecked")
+    private WilnerAVLTreeNode<E>[] pathBuffer() { //Reusable path array, long enough for any root-to-leaf path
+        int needed = height(root) + 1; //A path never has more nodes than the tree's height
+        if (path == null || path.length < needed) path = (WilnerAVLTreeNode<E>[])new WilnerAVLTree<?>.WilnerAVLTreeNode<?>[needed + 8]; //Grow with slack
+        return path; //Shared buffer: insert/delete are not reentrant
+    }
+    
+    private void bufferWrite(E e, boolean insert) { //Append a write; no descent, so duplicates and misses are only found by the merge
+        if (e == null) throw new NullPointerException(); //Would otherwise fail later, inside the batch sort
+        pending[pendingCount] = e; //Append
+        pendingInsert[pendingCount++] = insert; //Remember the operation
+        modCount++; //Outstanding iterators no longer describe the contents
+        if (pendingCount == pending.length) applyBufferedWrites(); //Full
+    }
+    
+    @Override
+    protected void applyBufferedWrites() { //Sort the batch, keep the last write per element, then merge deletes and inserts in one pass down the tree each
+        int n = pendingCount; //Buffered writes
+        if (n == 0) return; //Nothing to do
+        pendingCount = 0; //Buffer is empty before the tree changes
+        sortPending(0, n); //Stable: equal elements keep their arrival order
+        int adds = 0, removes = 0; //Resolved writes: inserts compacted into pending, deletes into pendingScratch
+        for (int i = 0, j; i < n; i = j) { //Each run of elements equal by compareTo
+            int lastDelete = pendingInsert[i] ? i - 1 : i; //Latest delete in the run, i - 1 if none
+            for (j = i + 1; j < n && pending[j].compareTo(pending[i]) == 0; j++) if (!pendingInsert[j]) lastDelete = j; //Extend the run
+            if (!pendingInsert[j - 1]) pendingScratch[removes++] = pending[i]; //Ends with a delete: remove whatever equal element is stored
+            else { pending[adds] = pending[lastDelete + 1]; pendingInsert[adds++] = lastDelete >= i; } //Ends with inserts: the first one after the last delete wins, replacing a stored equal element if there was a delete
+        }
+        int[] hits = {0}; //Elements removed, then elements added
+        root = removeSorted((WilnerAVLTreeNode<E>)root, 0, removes - 1, hits); //Deletes and inserts are disjoint, so their order is free
+        size -= hits[0]; //Misses do not count
+        hits[0] = 0; //Now count inserts
+        root = insertSorted((WilnerAVLTreeNode<E>)root, 0, adds - 1, hits); //Balanced build when the tree is empty
+        size += hits[0]; //Duplicates do not count
+        Arrays.fill(pending, 0, n, null); //Release the elements
+        Arrays.fill(pendingScratch, 0, n, null); //And their sorted copies
+        modCount++; //Record structural change
+    }
+    
+    private void sortPending(int lo, int hi) { //Stable merge sort of pending[lo, hi) with its operations; an ascending batch costs one compare per element
+        if (hi - lo < 16) { //Insertion sort for short ranges
+            for (int i = lo + 1; i < hi; i++) { //Grow the sorted prefix
+                E e = pending[i]; boolean insert = pendingInsert[i]; int j = i; //Entry to place
+                for (; j > lo && pending[j - 1].compareTo(e) > 0; j--) { pending[j] = pending[j - 1]; pendingInsert[j] = pendingInsert[j - 1]; } //Shift larger ones right; equal ones stay ahead
+                pending[j] = e; pendingInsert[j] = insert; //Place it
+            }
+            return; //Sorted
+        }
+        int mid = (lo + hi) >>> 1; //Halves
+        sortPending(lo, mid); //Sort the left half
+        sortPending(mid, hi); //Sort the right half
+        if (pending[mid - 1].compareTo(pending[mid]) <= 0) return; //Already in order
+        System.arraycopy(pending, lo, pendingScratch, lo, mid - lo); //Left half aside
+        System.arraycopy(pendingInsert, lo, scratchInsert, lo, mid - lo); //With its operations
+        for (int i = lo, a = lo, b = mid; a < mid; i++) { //Merge back; the rest of the right half is already in place
+            if (b < hi && pending[b].compareTo(pendingScratch[a]) < 0) { pending[i] = pending[b]; pendingInsert[i] = pendingInsert[b++]; } //Strictly smaller right entry
+            else { pending[i] = pendingScratch[a]; pendingInsert[i] = scratchInsert[a++]; } //Left entry first on ties: stable
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private WilnerAVLTreeNode<E> insertSorted(WilnerAVLTreeNode<E> node, int lo, int hi, int[] hits) { //Add the sorted, distinct pending[lo..hi] below node, visiting each node on their search paths once
+        if (lo > hi) return node; //No keys for this subtree
+        if (node == null) { hits[0] += hi - lo + 1; return (WilnerAVLTreeNode<E>)buildBalanced(pending, lo, hi); } //Empty subtree: the keys alone, balanced
+        int p = lowerBound(pending, lo, hi, node.element); //First key not below node
+        boolean equal = p <= hi && pending[p].compareTo(node.element) == 0; //Already present
+        if (equal && pendingInsert[p]) { forget(node.element); node.element = pending[p]; } //Deleted and inserted again: the new element replaces the stored one
+        WilnerAVLTreeNode<E> left = insertSorted((WilnerAVLTreeNode<E>)node.left, lo, p - 1, hits); //Smaller keys
+        WilnerAVLTreeNode<E> right = insertSorted((WilnerAVLTreeNode<E>)node.right, equal ? p + 1 : p, hi, hits); //Larger keys
+        return join(left, node, right); //Rebalances however unevenly the keys fell
+    }
+    
+    @SuppressWarnings("unchecked")
+    private WilnerAVLTreeNode<E> removeSorted(WilnerAVLTreeNode<E> node, int lo, int hi, int[] hits) { //Remove the sorted, distinct pendingScratch[lo..hi] from below node; misses end at a null link
+        if (lo > hi || node == null) return node; //No keys here, or none of them present
+        int p = lowerBound(pendingScratch, lo, hi, node.element); //First key not below node
+        boolean equal = p <= hi && pendingScratch[p].compareTo(node.element) == 0; //Node is deleted
+        WilnerAVLTreeNode<E> left = removeSorted((WilnerAVLTreeNode<E>)node.left, lo, p - 1, hits); //Smaller keys
+        WilnerAVLTreeNode<E> right = removeSorted((WilnerAVLTreeNode<E>)node.right, equal ? p + 1 : p, hi, hits); //Larger keys
+        if (!equal) return join(left, node, right); //Node stays
+        forget(node.element); //No longer present
+        hits[0]++; //Removed
+        return join2(left, right); //Node is not in the result
+    }
+    
+    private int lowerBound(E[] keys, int lo, int hi, E e) { //First index in [lo, hi] whose key is not below e, hi + 1 if none
+        while (lo <= hi) { //Binary search
+            int mid = (lo + hi) >>> 1; //Probe
+            if (keys[mid].compareTo(e) < 0) lo = mid + 1; else hi = mid - 1; //Keep the half that can hold the answer
         }
-        updateHeight(node); //Update height after deletion
-        return rebalance(node); //Rebalance and return
+        return lo; //Insertion point
     }
     
-    private WilnerAVLTreeNode<E> minNode(WilnerAVLTreeNode<E> n) { //Find minimum node in subtree
-        while (n.left != null) n = (WilnerAVLTreeNode<E>)n.left; //Move left until null
-        return n; //Return leftmost node
+    @Override
+    public void clear() { //Buffered writes are dropped with the contents
+        discardBufferedWrites(); //Nothing to apply
+        super.clear(); //Empty tree
+    }
+    
+    @Override
+    public void bulkLoad(E[] objects) { //Buffered writes are dropped with the old contents
+        discardBufferedWrites(); //Nothing to apply
+        super.bulkLoad(objects); //Balanced build
+    }
+    
+    private void discardBufferedWrites() { //Forget buffered writes without applying them
+        if (pendingCount == 0) return; //Nothing buffered (also during construction)
+        Arrays.fill(pending, 0, pendingCount, null); //Release the elements
+        pendingCount = 0; //Empty
+    }
+    
+    @Override
+    public int height() { //Number of levels, O(1) from the root's stored height
+        applyBufferedWrites(); //Deferred writes change the shape
+        return height(root); //0 if empty
     }
     
     private int height(WilnerTreeNode<E> n) { //Get height of node or 0 if null
-        if (n == null) return 0; //Null height = 0 (helps with leaf height 1)
-        if (n instanceof WilnerAVLTreeNode) return ((WilnerAVLTreeNode<E>)n).height; //Return stored height
-        return 1; //Fallback (shouldn't occur for AVL nodes)
+        return n == null ? 0 : ((WilnerAVLTreeNode<E>)n).height; //Every node in this tree is an AVL node
     }
     
     private void updateHeight(WilnerAVLTreeNode<E> n) { //Recompute height from children
@@ -76,12 +327,16 @@ public class WilnerAVLTree<E extends Comparable<E>> extends WilnerBinarySearchTr
     private WilnerAVLTreeNode<E> rebalance(WilnerAVLTreeNode<E> z) { //Rebalance at node z
         int bf = balanceFactor(z); //Compute balance factor
         if (bf > 1) { //Left heavy
-            if (balanceFactor((WilnerAVLTreeNode<E>)z.left) < 0) //Left-Right case
+            boolean leftRight = balanceFactor((WilnerAVLTreeNode<E>)z.left) < 0; //Left-Right case?
+            if (metrics != null) metrics.rotation(leftRight ? WilnerTreeMetrics.Rotation.LR : WilnerTreeMetrics.Rotation.LL); //Instrumentation
+            if (leftRight) //Left-Right case
                 z.left = rotateLeft((WilnerAVLTreeNode<E>)z.left); //First rotate left on left child
             return rotateRight(z); //Then rotate right on z
         }
         if (bf < -1) { //Right heavy
-            if (balanceFactor((WilnerAVLTreeNode<E>)z.right) > 0) //Right-Left case
+            boolean rightLeft = balanceFactor((WilnerAVLTreeNode<E>)z.right) > 0; //Right-Left case?
+            if (metrics != null) metrics.rotation(rightLeft ? WilnerTreeMetrics.Rotation.RL : WilnerTreeMetrics.Rotation.RR); //Instrumentation
+            if (rightLeft) //Right-Left case
                 z.right = rotateRight((WilnerAVLTreeNode<E>)z.right); //First rotate right on right child
             return rotateLeft(z); //Then rotate left on z
         }
@@ -93,8 +348,8 @@ public class WilnerAVLTree<E extends Comparable<E>> extends WilnerBinarySearchTr
         WilnerAVLTreeNode<E> T2 = (WilnerAVLTreeNode<E>)x.right; //T2 is x's right subtree
         x.right = y; //Put y as right child of x
         y.left = T2; //Move T2 to y's left
-        updateHeight(y); //Update height of y
-        updateHeight(x); //Update height of x
+        updateNode(y); //Update height (and count) of y
+        updateNode(x); //Update height (and count) of x
         return x; //Return new root
     }
 
@@ -103,8 +358,171 @@ public class WilnerAVLTree<E extends Comparable<E>> extends WilnerBinarySearchTr
         WilnerAVLTreeNode<E> T2 = (WilnerAVLTreeNode<E>)x.left; //T2 is x's left subtree
         x.left = y; //Put y as left child of x
         y.right = T2; //Move T2 to y's right
-        updateHeight(y); //Update height of y
-        updateHeight(x); //Update height of x
+        updateNode(y); //Update height (and count) of y
+        updateNode(x); //Update height (and count) of x
         return x; //Return new root
     }
+    
+    @Override
+    public boolean addAll(Collection<? extends E> c) { //Union by split/join instead of one insert per element
+        applyBufferedWrites(); //Set operations work on the nodes directly
+        if (c == this || c.isEmpty()) return false; //Nothing to add
+        WilnerTreeNode<E> other = balancedSource(c); //Sorted, balanced, read-only view of c
+        return other == null ? super.addAll(c) : applySetOperation(UNION, other); //Fall back for incomparable input
+    }
+    
+    @Override
+    public boolean retainAll(Collection<?> c) { //Intersection by split/join instead of c.contains per element
+        applyBufferedWrites(); //Set operations work on the nodes directly
+        if (c == this) return false; //Keeps everything
+        if (c.isEmpty()) { boolean changed = size > 0; clear(); return changed; } //Keeps nothing
+        WilnerTreeNode<E> other = balancedSource(c); //Sorted, balanced, read-only view of c
+        return other == null ? super.retainAll(c) : applySetOperation(INTERSECTION, other); //Fall back for incomparable input
+    }
+    
+    @Override
+    public boolean removeAll(Collection<?> c) { //Difference by split/join instead of one delete per element
+        applyBufferedWrites(); //Set operations work on the nodes directly
+        if (c == this) { boolean changed = size > 0; clear(); return changed; } //Removes everything
+        if (c.isEmpty()) return false; //Removes nothing
+        WilnerTreeNode<E> other = balancedSource(c); //Sorted, balanced, read-only view of c
+        return other == null ? super.removeAll(c) : applySetOperation(DIFFERENCE, other); //Fall back for incomparable input
+    }
+    
+    @SuppressWarnings("unchecked")
+    private WilnerTreeNode<E> balancedSource(Collection<?> c) { //Root of a balanced tree holding c's distinct elements, null if c cannot be sorted as E
+        try { //Other collections are copied once into a temporary balanced tree
+            WilnerTreeNode<E> other; //Root of the balanced source
+            if (c instanceof WilnerAVLTree) { //Already balanced: read it in place
+                ((WilnerAVLTree<E>)c).applyBufferedWrites(); //Its deferred writes first
+                other = ((WilnerAVLTree<E>)c).root; //Root of the other tree
+            } else { //Copy
+                WilnerAVLTree<E> copy = new WilnerAVLTree<>(); //Temporary
+                copy.bulkLoad((E[])c.toArray(new Comparable<?>[c.size()])); //Sorted-input fast path, else parallel sort
+                other = copy.root; //Never modified by the set operations
+            }
+            if (root != null && other != null) root.element.compareTo(other.element); //Fail here, not halfway through a split
+            return other; //Comparable with this tree's elements
+        } catch (ClassCastException | NullPointerException | ArrayStoreException ex) { //Mixed, foreign or null elements
+            return null; //Caller uses the element-by-element default
+        }
+    }
+    
+    private boolean applySetOperation(int op, WilnerTreeNode<E> other) { //Replace root by (this op other) and fix size
+        LongAdder hits = new LongAdder(); //UNION: nodes added; INTERSECTION: nodes kept; DIFFERENCE: nodes removed
+        SetOperation task = new SetOperation(op, (WilnerAVLTreeNode<E>)root, (WilnerAVLTreeNode<E>)other, hits); //Whole problem
+        root = height(other) >= PARALLEL_HEIGHT && metrics == null ? ForkJoinPool.commonPool().invoke(task) : task.compute(); //Metrics counters are not thread-safe
+        int before = size; //Old size
+        if (op == UNION) size += hits.intValue(); //Gained the new elements
+        else if (op == INTERSECTION) size = hits.intValue(); //Kept the common elements
+        else size -= hits.intValue(); //Lost the common elements
+        modCount++; //Nodes were relinked even if the contents are unchanged
+        if (op != UNION) invalidateAccessCache(); //Elements may have been removed
+        return size != before; //Changed if any element was added or removed
+    }
+    
+    private final class SetOperation extends RecursiveTask<WilnerAVLTreeNode<E>> { //Split/join set operation; forks when both halves are large
+        private static final long serialVersionUID = 1L; //ForkJoinTask is Serializable; these tasks are never serialized
+        private final int op; //UNION, INTERSECTION or DIFFERENCE
+        private final WilnerAVLTreeNode<E> mine;  //Subtree of this tree, consumed (nodes are reused)
+        private final WilnerAVLTreeNode<E> other; //Subtree of the other tree, only read
+        private final LongAdder hits; //Shared counter, see applySetOperation
+        
+        SetOperation(int op, WilnerAVLTreeNode<E> mine, WilnerAVLTreeNode<E> other, LongAdder hits) { //Capture the subproblem
+            this.op = op; this.mine = mine; this.other = other; this.hits = hits; //Set fields
+        }
+        
+        @Override
+        protected WilnerAVLTreeNode<E> compute() { //Runs inline, or on a fork-join worker
+            return setOperation(op, mine, other, hits); //Delegate to the recursive algorithm
+        }
+    }
+    
+    private WilnerAVLTreeNode<E> setOperation(int op, WilnerAVLTreeNode<E> mine, WilnerAVLTreeNode<E> other, LongAdder hits) { //O(m log(n/m + 1)) work
+        if (other == null) return op == INTERSECTION ? null : mine; //Nothing on the other side
+        if (mine == null) { //Nothing on this side
+            if (op != UNION) return null; //Intersection and difference stay empty
+            return copySubtree(other, hits); //Union takes the other subtree as a copy
+        }
+        Split s = split(mine, other.element); //Partition this side around the other side's root
+        WilnerAVLTreeNode<E> left, right; //Results for the two halves
+        if (height(other) >= PARALLEL_HEIGHT && metrics == null) { //Large enough to be worth a task
+            SetOperation leftTask = new SetOperation(op, s.left, (WilnerAVLTreeNode<E>)other.left, hits); //Left half
+            leftTask.fork(); //Run it in parallel
+            right = setOperation(op, s.right, (WilnerAVLTreeNode<E>)other.right, hits); //Right half here
+            left = leftTask.join(); //Wait for the left half
+        } else { //Small: stay sequential
+            left = setOperation(op, s.left, (WilnerAVLTreeNode<E>)other.left, hits); //Left half
+            right = setOperation(op, s.right, (WilnerAVLTreeNode<E>)other.right, hits); //Right half
+        }
+        if (op == UNION) { //Key belongs in the result either way
+            WilnerAVLTreeNode<E> key = s.node; //Reuse our node if we had the key
+            if (key == null) { key = (WilnerAVLTreeNode<E>)createNode(other.element); hits.increment(); } //Otherwise a new node
+            return join(left, key, right); //Reassemble
+        }
+        if (s.node != null) hits.increment(); //Common element: kept by intersection, removed by difference
+        if (op == INTERSECTION && s.node != null) return join(left, s.node, right); //Keep the common key
+        return join2(left, right); //Key is not in the result
+    }
+    
+    private final class Split { //Result of split: elements below the key, the key's node (or null), elements above
+        WilnerAVLTreeNode<E> left, node, right; //Parts
+        Split(WilnerAVLTreeNode<E> left, WilnerAVLTreeNode<E> node, WilnerAVLTreeNode<E> right) { this.left = left; this.node = node; this.right = right; } //Constructor
+    }
+    
+    private Split split(WilnerAVLTreeNode<E> t, E e) { //Split t around e in O(height), reusing t's nodes
+        if (t == null) return new Split(null, null, null); //Empty
+        int cmp = e.compareTo(t.element); //Compare with the subtree root
+        if (cmp == 0) return new Split((WilnerAVLTreeNode<E>)t.left, t, (WilnerAVLTreeNode<E>)t.right); //Found: children are the halves
+        if (cmp < 0) { //e is on the left
+            Split s = split((WilnerAVLTreeNode<E>)t.left, e); //Split the left subtree
+            s.right = join(s.right, t, (WilnerAVLTreeNode<E>)t.right); //t and its right subtree are all above e
+            return s; //Result
+        }
+        Split s = split((WilnerAVLTreeNode<E>)t.right, e); //e is on the right: split the right subtree
+        s.left = join((WilnerAVLTreeNode<E>)t.left, t, s.left); //t and its left subtree are all below e
+        return s; //Result
+    }
+    
+    private WilnerAVLTreeNode<E> join(WilnerAVLTreeNode<E> l, WilnerAVLTreeNode<E> k, WilnerAVLTreeNode<E> r) { //Join l < k < r into one AVL tree in O(|height(l) - height(r)|)
+        int hl = height(l), hr = height(r); //Heights of the two sides
+        if (hl > hr + 1) { //Left much taller: attach down its right spine
+            l.right = join((WilnerAVLTreeNode<E>)l.right, k, r); //Join into the right spine
+            updateNode(l); //Height (and count)
+            return rebalance(l); //At most one (double) rotation per level
+        }
+        if (hr > hl + 1) { //Right much taller: attach down its left spine
+            r.left = join(l, k, (WilnerAVLTreeNode<E>)r.left); //Join into the left spine
+            updateNode(r); //Height (and count)
+            return rebalance(r); //At most one (double) rotation per level
+        }
+        k.left = l; //Heights are close: k becomes the root
+        k.right = r; //Right side
+        updateNode(k); //Height (and count)
+        return k; //Balanced
+    }
+    
+    private WilnerAVLTreeNode<E> join2(WilnerAVLTreeNode<E> l, WilnerAVLTreeNode<E> r) { //Join l < r without a middle key
+        if (l == null) return r; //Nothing on the left
+        if (r == null) return l; //Nothing on the right
+        Split s = splitLast(l); //Detach l's largest node to serve as the key
+        return join(s.left, s.node, r); //Regular join
+    }
+    
+    private Split splitLast(WilnerAVLTreeNode<E> t) { //Detach the largest node of t; Split.left holds the rest
+        if (t.right == null) return new Split((WilnerAVLTreeNode<E>)t.left, t, null); //t is the largest
+        Split s = splitLast((WilnerAVLTreeNode<E>)t.right); //Largest is on the right
+        s.left = join((WilnerAVLTreeNode<E>)t.left, t, s.left); //Rebuild the rest
+        return s; //Result
+    }
+    
+    private WilnerAVLTreeNode<E> copySubtree(WilnerTreeNode<E> n, LongAdder hits) { //Copy a balanced subtree of another tree into this tree's nodes
+        if (n == null) return null; //Empty
+        WilnerAVLTreeNode<E> copy = (WilnerAVLTreeNode<E>)createNode(n.element); //Same element, new node
+        copy.left = copySubtree(n.left, hits);   //Copy left (depth is the other tree's height)
+        copy.right = copySubtree(n.right, hits); //Copy right
+        updateNode(copy); //Height (and count)
+        hits.increment(); //One more element added
+        return copy; //Copied subtree
+    }
 }
@@ -2,7 +2,11 @@ import java.util.*;
 
 public class WilnerAssignment3A {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws java.io.IOException {
+        if (args.length > 0 && args[0].equals("--batch")) { // Non-interactive replay of an operation log
+            WilnerBatchDriver.main(Arrays.copyOfRange(args, 1, args.length)); // See WilnerBatchDriver for the input format
+            return; // Skip the interactive demo
+        }
         Scanner in = new Scanner(System.in); // Create scanner for user input
         System.out.println("Welcome! Enter 10 integers (press Enter after each):"); // Friendly prompt per requirements
 
@@ -0,0 +1,356 @@
+import java.util.*;
+import java.util.function.*;
+
+public class WilnerBTree<E extends Comparable<E>> implements WilnerTree<E> { //B+-tree: keys in per-node arrays, elements in linked leaves
+    public static final int DEFAULT_MAX_KEYS = 64; //Default fanout (keys per node)
+
+    private abstract static class Node { //Common part of leaves and internal nodes
+        final Object[] keys; //Sorted keys; one spare slot so a node can overflow by one before it is split
+        int n = 0;           //Number of keys in use
+        Node(int maxKeys) { keys = new Object[maxKeys + 1]; } //Allocate key array once
+    }
+
+    private static final class Leaf extends Node { //Holds the elements themselves
+        Leaf next; //Right neighbour, for sequential scans
+        Leaf(int maxKeys) { super(maxKeys); } //Constructor sizes the key array
+    }
+
+    private static final class Internal extends Node { //Holds separators: keys in children[i] < keys[i] <= keys in children[i + 1]
+        final Node[] children; //n + 1 children in use
+        Internal(int maxKeys) { super(maxKeys); children = new Node[maxKeys + 2]; } //One spare child slot for overflow
+    }
+
+    private static final Node INSERT_DUPLICATE = new Leaf(0); //Sentinel returned by insert(Node, E) when the key already exists
+
+    private final int maxKeys; //Most keys a node may hold
+    private final int minKeys; //Fewest keys a non-root node may hold
+    private Node root;         //Root (a leaf while the tree is small)
+    private int size = 0;      //Number of elements
+    private int modCount = 0;  //Structural modification counter for fail-fast iterators
+
+    public WilnerBTree() { this(DEFAULT_MAX_KEYS); } //Default fanout
+
+    public WilnerBTree(int maxKeys) { //Fanout: keys per node, at least 3
+        if (maxKeys < 3) throw new IllegalArgumentException("maxKeys must be at least 3: " + maxKeys); //Splits need room
+        this.maxKeys = maxKeys; //Upper bound
+        this.minKeys = maxKeys / 2; //Lower bound: two minimal siblings always fit in one node
+        this.root = new Leaf(maxKeys); //Empty tree is one empty leaf
+    }
+
+    public WilnerBTree(E[] objects) { //Construct from array
+        this(); //Default fanout
+        for (E e : objects) insert(e); //Insert each element
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Comparable<E>> int indexOf(Node node, E e) { //Binary search in a node: index if found, else -(insertion point) - 1
+        int lo = 0, hi = node.n - 1; //Search window
+        while (lo <= hi) { //Standard binary search
+            int mid = (lo + hi) >>> 1; //Middle slot
+            int cmp = ((E)node.keys[mid]).compareTo(e); //Compare stored key with target
+            if (cmp < 0) lo = mid + 1;      //Go right
+            else if (cmp > 0) hi = mid - 1; //Go left
+            else return mid; //Found
+        }
+        return -(lo + 1); //Not found
+    }
+
+    private static <E extends Comparable<E>> int childIndex(Internal node, E e) { //Child whose range contains e
+        int i = indexOf(node, e); //Search separators
+        return i >= 0 ? i + 1 : -i - 1; //Equal to a separator: right child; otherwise the insertion point
+    }
+
+    private Leaf leafFor(E e) { //Descend to the leaf whose range contains e
+        Node node = root; //Start at the root
+        while (node instanceof Internal) node = ((Internal)node).children[childIndex((Internal)node, e)]; //One binary search per level
+        return (Leaf)node; //Leaf reached
+    }
+
+    private Leaf firstLeaf() { //Leftmost leaf
+        Node node = root; //Start at the root
+        while (node instanceof Internal) node = ((Internal)node).children[0]; //Always go left
+        return (Leaf)node; //Leftmost
+    }
+
+    @Override
+    public boolean search(E e) { //One binary search per level
+        return indexOf(leafFor(e), e) >= 0; //Present if the leaf holds it
+    }
+
+    @Override
+    public boolean insert(E e) { //Insert and split full nodes on the way back up
+        Objects.requireNonNull(e); //Keys must be comparable
+        Node sibling = insert(root, e); //New right sibling if the root split
+        if (sibling == INSERT_DUPLICATE) return false; //Already present
+        if (sibling != null) { //Root split: tree grows one level
+            Internal newRoot = new Internal(maxKeys); //New root
+            newRoot.keys[0] = smallestKey(sibling); //Separator
+            newRoot.children[0] = root; //Old root on the left
+            newRoot.children[1] = sibling; //Split-off half on the right
+            newRoot.n = 1; //One separator
+            root = newRoot; //Install
+        }
+        size++; //Increment size
+        modCount++; //Record structural change
+        return true; //Inserted
+    }
+
+    private Node insert(Node node, E e) { //Insert below node; return a new right sibling if node split, null otherwise
+        if (node instanceof Leaf) { //Insert into the leaf
+            int i = indexOf(node, e); //Position
+            if (i >= 0) return INSERT_DUPLICATE; //Duplicate: not inserted
+            i = -i - 1; //Insertion point
+            System.arraycopy(node.keys, i, node.keys, i + 1, node.n - i); //Make room
+            node.keys[i] = e; //Store
+            node.n++; //One more key
+            return node.n > maxKeys ? splitLeaf((Leaf)node) : null; //Split on overflow
+        }
+        Internal in = (Internal)node; //Internal node
+        int c = childIndex(in, e); //Child to descend into
+        Node sibling = insert(in.children[c], e); //Recurse (depth is O(log n) with a large base)
+        if (sibling == null || sibling == INSERT_DUPLICATE) return sibling; //Nothing to absorb
+        System.arraycopy(in.keys, c, in.keys, c + 1, in.n - c); //Make room for the separator
+        System.arraycopy(in.children, c + 1, in.children, c + 2, in.n - c); //Make room for the child
+        in.keys[c] = smallestKey(sibling); //Separator: smallest element of the new sibling
+        in.children[c + 1] = sibling; //New child
+        in.n++; //One more separator
+        return in.n > maxKeys ? splitInternal(in) : null; //Split on overflow
+    }
+
+    private Leaf splitLeaf(Leaf left) { //Move the upper half of an overflowing leaf into a new right neighbour
+        Leaf right = new Leaf(maxKeys); //New leaf
+        int keep = left.n / 2; //Keys staying on the left
+        right.n = left.n - keep; //Keys moving right
+        System.arraycopy(left.keys, keep, right.keys, 0, right.n); //Move them
+        Arrays.fill(left.keys, keep, left.n, null); //Do not retain moved keys
+        left.n = keep; //Shrink
+        right.next = left.next; //Splice into the leaf chain
+        left.next = right; //Left now points to right
+        return right; //Parent adds a separator for it
+    }
+
+    private Internal splitInternal(Internal left) { //Move the upper half of an overflowing internal node into a new sibling
+        Internal right = new Internal(maxKeys); //New node
+        int mid = left.n / 2; //Separator at mid moves up (recomputed by the parent as smallestKey)
+        right.n = left.n - mid - 1; //Separators moving right
+        System.arraycopy(left.keys, mid + 1, right.keys, 0, right.n); //Move separators
+        System.arraycopy(left.children, mid + 1, right.children, 0, right.n + 1); //Move children
+        Arrays.fill(left.keys, mid, left.n, null); //Clear moved slots (mid itself goes up)
+        Arrays.fill(left.children, mid + 1, left.n + 1, null); //Clear moved children
+        left.n = mid; //Shrink
+        return right; //Parent adds a separator for it
+    }
+
+    private static Object smallestKey(Node node) { //Smallest element under node (leftmost leaf's first key)
+        while (node instanceof Internal) node = ((Internal)node).children[0]; //Go left
+        return node.keys[0]; //First key
+    }
+
+    @Override
+    public boolean delete(E e) { //Delete and fix underflowing nodes on the way back up
+        if (!delete(root, e)) return false; //Not present
+        if (root instanceof Internal && root.n == 0) root = ((Internal)root).children[0]; //Root emptied by a merge: shrink height
+        size--; //Decrement size
+        modCount++; //Record structural change
+        return true; //Deleted
+    }
+
+    private boolean delete(Node node, E e) { //Delete below node; the caller repairs node if it underflows
+        if (node instanceof Leaf) { //Remove from the leaf
+            int i = indexOf(node, e); //Position
+            if (i < 0) return false; //Not present
+            System.arraycopy(node.keys, i + 1, node.keys, i, node.n - i - 1); //Close the gap
+            node.keys[--node.n] = null; //Clear the freed slot
+            return true; //Deleted
+        }
+        Internal in = (Internal)node; //Internal node
+        int c = childIndex(in, e); //Child to descend into
+        if (!delete(in.children[c], e)) return false; //Not present
+        if (in.children[c].n < minKeys) rebalanceChild(in, c); //Repair underflow
+        return true; //Deleted
+    }
+
+    private void rebalanceChild(Internal parent, int c) { //Borrow from a sibling, or merge with one
+        Node child = parent.children[c]; //Underflowing child
+        Node left = c > 0 ? parent.children[c - 1] : null;              //Left sibling, if any
+        Node right = c < parent.n ? parent.children[c + 1] : null;      //Right sibling, if any
+        if (left != null && left.n > minKeys) borrowFromLeft(parent, c, left, child);        //Left can spare a key
+        else if (right != null && right.n > minKeys) borrowFromRight(parent, c, child, right); //Right can spare a key
+        else if (left != null) merge(parent, c - 1, left, child); //Fold child into left
+        else merge(parent, c, child, right); //Fold right into child
+    }
+
+    private void borrowFromLeft(Internal parent, int c, Node left, Node child) { //Rotate one key from left into child
+        System.arraycopy(child.keys, 0, child.keys, 1, child.n); //Make room at the front
+        if (child instanceof Leaf) { //Leaves move the element itself
+            child.keys[0] = left.keys[left.n - 1]; //Left's largest element
+            parent.keys[c - 1] = child.keys[0]; //New separator
+        } else { //Internal nodes rotate through the parent separator
+            Internal ci = (Internal)child, li = (Internal)left; //Typed views
+            System.arraycopy(ci.children, 0, ci.children, 1, ci.n + 1); //Make room for a child
+            child.keys[0] = parent.keys[c - 1]; //Separator comes down
+            ci.children[0] = li.children[li.n]; //Left's last child moves over
+            li.children[li.n] = null; //Clear
+            parent.keys[c - 1] = left.keys[left.n - 1]; //Left's last separator goes up
+        }
+        left.keys[--left.n] = null; //Shrink left
+        child.n++; //Grow child
+    }
+
+    private void borrowFromRight(Internal parent, int c, Node child, Node right) { //Rotate one key from right into child
+        if (child instanceof Leaf) { //Leaves move the element itself
+            child.keys[child.n] = right.keys[0]; //Right's smallest element
+            System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1); //Close the gap
+            parent.keys[c] = right.keys[0]; //New separator
+        } else { //Internal nodes rotate through the parent separator
+            Internal ci = (Internal)child, ri = (Internal)right; //Typed views
+            child.keys[child.n] = parent.keys[c]; //Separator comes down
+            ci.children[child.n + 1] = ri.children[0]; //Right's first child moves over
+            parent.keys[c] = right.keys[0]; //Right's first separator goes up
+            System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1); //Close the key gap
+            System.arraycopy(ri.children, 1, ri.children, 0, right.n); //Close the child gap
+            ri.children[right.n] = null; //Clear
+        }
+        right.keys[--right.n] = null; //Shrink right
+        child.n++; //Grow child
+    }
+
+    private void merge(Internal parent, int i, Node left, Node right) { //Fold right (children[i + 1]) into left (children[i])
+        if (left instanceof Leaf) { //Leaves concatenate and unlink right from the chain
+            System.arraycopy(right.keys, 0, left.keys, left.n, right.n); //Append elements
+            left.n += right.n; //Grow
+            ((Leaf)left).next = ((Leaf)right).next; //Unlink right
+        } else { //Internal nodes pull the separator down between the halves
+            Internal li = (Internal)left, ri = (Internal)right; //Typed views
+            left.keys[left.n] = parent.keys[i]; //Separator comes down
+            System.arraycopy(right.keys, 0, left.keys, left.n + 1, right.n); //Append separators
+            System.arraycopy(ri.children, 0, li.children, left.n + 1, right.n + 1); //Append children
+            left.n += right.n + 1; //Grow
+        }
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.n - i - 1); //Remove separator i
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.n - i - 1); //Remove child i + 1
+        parent.children[parent.n] = null; //Clear the freed child slot
+        parent.keys[--parent.n] = null; //Clear the freed key slot
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void inorder(Consumer<? super E> action) { //Sequential scan of the leaf chain
+        for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) //Left to right
+            for (int i = 0; i < leaf.n; i++) action.accept((E)leaf.keys[i]); //Contiguous keys
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void preorder(Consumer<? super E> action) { //Node by node, parent first: an internal node contributes its separator keys, a leaf its elements
+        ArrayDeque<Node> stack = new ArrayDeque<>(); //Subtrees still to visit
+        stack.push(root); //Start at the root
+        while (!stack.isEmpty()) { //Until every node is visited
+            Node node = stack.pop(); //Next subtree root
+            for (int i = 0; i < node.n; i++) action.accept((E)node.keys[i]); //Its own keys, in order
+            if (node instanceof Internal) for (int i = node.n; i >= 0; i--) stack.push(((Internal)node).children[i]); //Leftmost child ends on top
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void postorder(Consumer<? super E> action) { //Node by node, children first: separators follow the subtrees they divide
+        Node[] nodes = new Node[8]; //Path from the root to the current node
+        int[] next = new int[8];    //Next child to visit for each node on the path
+        int top = 0; //Index of the current node
+        nodes[0] = root; //Start at the root
+        while (top >= 0) { //Until the root is done
+            Node node = nodes[top]; //Current node
+            if (node instanceof Internal && next[top] <= node.n) { //A child is still pending
+                Node child = ((Internal)node).children[next[top]++]; //Leftmost pending child
+                if (++top == nodes.length) { nodes = Arrays.copyOf(nodes, top * 2); next = Arrays.copyOf(next, top * 2); } //Grow (trees are shallow)
+                nodes[top] = child; next[top] = 0; //Descend
+            } else { //All children done
+                for (int i = 0; i < node.n; i++) action.accept((E)node.keys[i]); //Its own keys, in order
+                nodes[top--] = null; //Back to the parent
+            }
+        }
+    }
+
+    @Override
+    public int getSize() { //Return size
+        return size; //Number of elements
+    }
+
+    @Override
+    public void clear() { //Clear the tree
+        root = new Leaf(maxKeys); //Fresh empty leaf
+        size = 0; //Reset size
+        modCount++; //Invalidate outstanding iterators
+    }
+
+    @Override
+    public Iterator<E> iterator() { //Lazy leaf-chain iterator
+        return new Iterator<E>() { //Position is a leaf plus a slot
+            private Leaf leaf = firstLeaf(); //Current leaf
+            private int index = 0; //Next slot in leaf
+            private E lastReturned; //Element returned by the last call to next()
+            private boolean canRemove = false; //True once next() has been called and remove() not yet used
+            private int expectedModCount = modCount; //Snapshot of modCount for fail-fast checks
+
+            private void skipExhausted() { //Move past leaves with no remaining slots
+                while (leaf != null && index >= leaf.n) { leaf = leaf.next; index = 0; } //Next leaf
+            }
+
+            @Override
+            public boolean hasNext() { //More elements remain somewhere in the chain
+                skipExhausted(); //Normalize position
+                return leaf != null; //Chain not exhausted
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() { //Return the next element in order
+                if (modCount != expectedModCount) throw new ConcurrentModificationException(); //Tree changed underneath us
+                if (!hasNext()) throw new NoSuchElementException(); //Exhausted
+                lastReturned = (E)leaf.keys[index++]; //Contiguous read
+                canRemove = true; //remove() is now allowed
+                return lastReturned; //Return the element
+            }
+
+            @Override
+            public void remove() { //Remove the last returned element and re-find our place
+                if (!canRemove) throw new IllegalStateException(); //next() not called or already removed
+                if (modCount != expectedModCount) throw new ConcurrentModificationException(); //Tree changed underneath us
+                delete(lastReturned); //Borrowing and merging may move keys between leaves
+                leaf = leafFor(lastReturned); //Leaf whose range now contains the removed key
+                int i = indexOf(leaf, lastReturned); //Insertion point of the removed key
+                index = i >= 0 ? i + 1 : -i - 1; //Next element is at the insertion point
+                expectedModCount = modCount; //Accept our own modification
+                canRemove = false; //Only one remove per next()
+            }
+        };
+    }
+
+    @Override
+    public List<E> inorderList() { //Build inorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        inorder(list::add); //Leaf scan
+        return list; //Return list
+    }
+
+    @Override
+    public List<E> preorderList() { //Build preorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        preorder(list::add); //Node-level walk; separators repeat leaf keys
+        return list; //Return list
+    }
+
+    @Override
+    public List<E> postorderList() { //Build postorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        postorder(list::add); //Node-level walk; separators repeat leaf keys
+        return list; //Return list
+    }
+
+    public int height() { //Number of levels, 1 for a single leaf
+        int h = 1; //Leaf level
+        for (Node node = root; node instanceof Internal; node = ((Internal)node).children[0]) h++; //All leaves are at the same depth
+        return h; //Result
+    }
+}
@@ -0,0 +1,270 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+public class WilnerBatchDriver { //Replays an operation log (insert/search/delete/range/traversals) against one tree implementation
+    interface Target { //Long-keyed view of a tree, so primitive and generic trees replay the same log
+        boolean insert(long key); //Insert, true if added
+        boolean search(long key); //Membership
+        boolean delete(long key); //Delete, true if removed
+        void range(long from, long to, LongConsumer action); //Keys in [from, to], ascending
+        void inorder(LongConsumer action);   //All keys, inorder
+        void preorder(LongConsumer action);  //All keys, preorder
+        void postorder(LongConsumer action); //All keys, postorder
+        int size(); //Number of keys
+        default void close() throws IOException {} //Release resources, if any
+    }
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e', '\n'};       //search/echo output
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e', '\n'}; //search/echo output
+    private static final byte[] MIN_LONG = "-9223372036854775808".getBytes(); //Only value whose negation overflows
+
+    private final ReadableByteChannel in; //Operation log
+    private final OutputStream out;       //Results, written in large chunks only
+    private final Target target;          //Tree being driven
+    private final boolean echo;           //Also print insert/delete results
+    private byte[] buf = new byte[1 << 16]; //Input bytes; [pos, lim) not yet parsed
+    private int pos = 0, lim = 0;           //Parse window
+    private int lineEnd = -1;               //End of the current line (exclusive)
+    private int cursor;                     //Parse position within the current line
+    private boolean eof = false;            //Channel exhausted
+    private final byte[] outBuf = new byte[1 << 16]; //Pending output
+    private int outPos = 0;                 //Bytes pending in outBuf
+    private final byte[] digits = new byte[20]; //Scratch for number formatting
+    private final LongConsumer printKey = this::printKey; //Reused for every range and traversal
+    private long lineNumber = 0;            //For error messages
+    private long operations = 0;            //Operations executed
+
+    WilnerBatchDriver(ReadableByteChannel in, OutputStream out, Target target, boolean echo) { //Wire up one replay
+        this.in = in; this.out = out; this.target = target; this.echo = echo; //Set fields
+    }
+
+    public static void main(String[] args) throws IOException { //[--tree=NAME] [--echo] [file | -]
+        String treeName = "long", file = "-"; //Defaults: primitive long AVL tree, stdin
+        boolean echo = false; //Quiet mutations by default
+        for (String arg : args) { //Parse options
+            if (arg.startsWith("--tree=")) treeName = arg.substring(7); //Implementation
+            else if (arg.equals("--echo")) echo = true; //Print insert/delete results
+            else if (arg.startsWith("--")) { usage("unknown option " + arg); return; } //Typo
+            else file = arg; //Input file
+        }
+        Target target; //Tree to drive
+        try { target = target(treeName); } //Look up implementation
+        catch (IllegalArgumentException ex) { usage(ex.getMessage()); return; } //Unknown name
+        ReadableByteChannel in = file.equals("-") ? Channels.newChannel(System.in) : FileChannel.open(Paths.get(file), StandardOpenOption.READ); //Input
+        OutputStream out = new FileOutputStream(FileDescriptor.out); //Raw stdout; buffering is done here
+        WilnerBatchDriver driver = new WilnerBatchDriver(in, out, target, echo); //One replay
+        long start = System.nanoTime(); //Timing
+        int status = 0; //Exit status, set only on malformed input
+        try {
+            driver.run(); //Replay the whole log
+        } catch (IllegalArgumentException ex) { //Malformed input
+            driver.flush(); //Keep the results produced so far
+            System.err.println(ex.getMessage()); //Report where it failed
+            status = 2; //Distinct from I/O failures; exit only once everything is closed
+        } finally {
+            in.close(); //Release input
+            target.close(); //Release tree memory
+        }
+        if (status != 0) System.exit(status); //After finally, so nothing is lost
+        long nanos = Math.max(System.nanoTime() - start, 1); //Elapsed
+        System.err.printf("%d operations in %.1f ms (%.0f ops/s), final size %d%n", driver.operations, nanos / 1e6, driver.operations * 1e9 / nanos, target.size()); //Summary
+    }
+
+    private static void usage(String problem) { //Explain the command line
+        System.err.println(problem); //What was wrong
+        System.err.println("usage: WilnerAssignment3A --batch [--tree=long|int|offheap|avl|bst|btree|concurrent|persistent] [--echo] [file | -]"); //Syntax
+        System.err.println("  one operation per line: insert K | search K | delete K | range LO HI | inorder | preorder | postorder | size"); //Input format
+        System.err.println("  (i, s, d and r are accepted as short forms; blank lines and lines starting with # are ignored)"); //Shorthands
+        System.err.println("  search, range, inorder and size print the same for every tree; preorder and postorder follow each tree's shape"); //btree walks B+-tree nodes, separators included
+    }
+
+    void run() throws IOException { //Execute every line of the log, then flush
+        while (nextLine()) { //pos..lim now holds one line (without the newline)
+            lineNumber++; //Count lines for error messages
+            try { execute(); } //Parse and apply
+            catch (IllegalArgumentException ex) { throw new IllegalArgumentException("line " + lineNumber + ": " + ex.getMessage(), ex); } //Add position
+        }
+        flush(); //Everything written
+    }
+
+    private boolean nextLine() throws IOException { //Advance to the next line; false at end of input
+        pos = Math.min(lineEnd + 1, lim); //Skip the previous line and its newline
+        while (true) { //Until a complete line is buffered
+            for (int i = pos; i < lim; i++) if (buf[i] == '\n') { lineEnd = i; return true; } //Found a line
+            if (eof) { lineEnd = lim; return pos < lim; } //Last line without a newline
+            if (pos > 0) { System.arraycopy(buf, pos, buf, 0, lim - pos); lim -= pos; pos = 0; } //Compact the partial line
+            if (lim == buf.length) buf = Arrays.copyOf(buf, buf.length * 2); //Line longer than the buffer
+            int n = in.read(ByteBuffer.wrap(buf, lim, buf.length - lim)); //Refill
+            if (n < 0) eof = true; else lim += n; //Track end of input
+        }
+    }
+
+    private void execute() { //Apply the operation on buf[pos, lineEnd)
+        int p = skipBlanks(pos); //Start of the command
+        if (p == lineEnd || buf[p] == '#') return; //Blank line or comment
+        int wordStart = p; //Command word
+        while (p < lineEnd && buf[p] > ' ') p++; //To the end of the word
+        int length = p - wordStart; //Word length
+        cursor = p; //Arguments follow
+        byte c = buf[wordStart]; //Dispatch on the first letter, then check the whole word
+        operations++; //Count it
+        if (c == 'i' && (length == 1 || word(wordStart, length, "insert"))) mutation(target.insert(nextLong())); //Insert
+        else if (c == 'd' && (length == 1 || word(wordStart, length, "delete"))) mutation(target.delete(nextLong())); //Delete
+        else if (c == 's' && (length == 1 || word(wordStart, length, "search"))) printBoolean(target.search(nextLong())); //Search
+        else if (c == 'r' && (length == 1 || word(wordStart, length, "range"))) { long from = nextLong(); target.range(from, nextLong(), printKey); newline(); } //Range scan
+        else if (word(wordStart, length, "inorder")) { target.inorder(printKey); newline(); } //Traversal on request
+        else if (word(wordStart, length, "preorder")) { target.preorder(printKey); newline(); } //Traversal on request
+        else if (word(wordStart, length, "postorder")) { target.postorder(printKey); newline(); } //Traversal on request
+        else if (word(wordStart, length, "size")) { printLong(target.size()); newline(); } //Tree size
+        else throw new IllegalArgumentException("unknown operation '" + new String(buf, wordStart, length) + "'"); //Only allocates on error
+        if (skipBlanks(cursor) != lineEnd) throw new IllegalArgumentException("unexpected text after operation"); //Extra arguments
+    }
+
+    private boolean word(int start, int length, String w) { //Compare bytes against an ASCII keyword
+        if (length != w.length()) return false; //Different length
+        for (int i = 0; i < length; i++) if (buf[start + i] != w.charAt(i)) return false; //Different letter
+        return true; //Same word
+    }
+
+    private int skipBlanks(int p) { //First non-blank at or after p within the line
+        while (p < lineEnd && (buf[p] == ' ' || buf[p] == '\t' || buf[p] == '\r')) p++; //Spaces, tabs, CR of CRLF
+        return p; //Position
+    }
+
+    private long nextLong() { //Parse a signed decimal argument at cursor
+        int p = skipBlanks(cursor); //Start of the number
+        boolean negative = p < lineEnd && buf[p] == '-'; //Sign
+        if (negative || p < lineEnd && buf[p] == '+') p++; //Skip sign
+        int start = p; //First digit
+        long value = 0; //Accumulated as a negative number so Long.MIN_VALUE fits
+        while (p < lineEnd && buf[p] >= '0' && buf[p] <= '9') { //Each digit
+            int d = buf[p++] - '0'; //Digit value
+            if (value < (Long.MIN_VALUE + d) / 10) throw new IllegalArgumentException("number out of range"); //Would overflow
+            value = value * 10 - d; //Append digit
+        }
+        if (p == start || p < lineEnd && buf[p] > ' ') throw new IllegalArgumentException("expected a number"); //Missing or malformed
+        if (!negative && value == Long.MIN_VALUE) throw new IllegalArgumentException("number out of range"); //2^63
+        cursor = p; //Consume
+        return negative ? value : -value; //Apply sign
+    }
+
+    private void mutation(boolean changed) { //Insert/delete results are printed only with --echo
+        if (echo) printBoolean(changed); //Optional
+    }
+
+    private void printBoolean(boolean b) { write(b ? TRUE : FALSE); } //"true" or "false" on its own line
+
+    private void printKey(long key) { printLong(key); put((byte)' '); } //Key followed by a space, like the interactive traversals
+
+    private void newline() { put((byte)'\n'); } //End of a result line
+
+    private void printLong(long v) { //Decimal without going through String
+        if (v == Long.MIN_VALUE) { write(MIN_LONG); return; } //Cannot be negated
+        if (v < 0) { put((byte)'-'); v = -v; } //Sign
+        int n = 0; //Digits produced, least significant first
+        do { digits[n++] = (byte)('0' + v % 10); v /= 10; } while (v != 0); //Convert
+        while (n > 0) put(digits[--n]); //Most significant first
+    }
+
+    private void write(byte[] bytes) { for (byte b : bytes) put(b); } //Copy a constant
+
+    private void put(byte b) { //Append one byte, draining the buffer when full
+        if (outPos == outBuf.length) flushQuietly(); //Full
+        outBuf[outPos++] = b; //Append
+    }
+
+    private void flushQuietly() { //Drain from contexts that cannot throw IOException (tree callbacks)
+        try { flush(); } //Drain
+        catch (IOException ex) { throw new UncheckedIOException(ex); } //Surface as unchecked
+    }
+
+    void flush() throws IOException { //Write everything pending
+        out.write(outBuf, 0, outPos); //One write call per 64 KiB
+        out.flush(); //Pass it on
+        outPos = 0; //Empty
+    }
+
+    static Target target(String name) { //Implementation by command-line name
+        switch (name) {
+            case "long": return longTarget(new LongAVLTree()); //Primitive keys in arrays (default)
+            case "int": return intTarget(new IntAVLTree()); //Primitive int keys
+            case "offheap": return offHeapTarget(new OffHeapLongAVLTree()); //Nodes outside the heap
+            case "avl": return objectTarget(new WilnerAVLTree<Long>()); //Boxed AVL tree
+            case "bst": return objectTarget(new WilnerBinarySearchTree<Long>()); //Unbalanced BST
+            case "btree": return objectTarget(new WilnerBTree<Long>()); //B+-tree
+            case "concurrent": return objectTarget(new WilnerConcurrentTree<Long>()); //Path-copying, CAS-published
+            case "persistent": return objectTarget(new WilnerPersistentAVLTree<Long>()); //Path-copying, single writer
+            default: throw new IllegalArgumentException("unknown tree '" + name + "'"); //Typo
+        }
+    }
+
+    private static Target longTarget(LongAVLTree t) { //Direct calls, no boxing
+        return new Target() {
+            public boolean insert(long key) { return t.insert(key); }
+            public boolean search(long key) { return t.search(key); }
+            public boolean delete(long key) { return t.delete(key); }
+            public void range(long from, long to, LongConsumer action) { t.range(from, to, action); }
+            public void inorder(LongConsumer action) { t.inorder(action); }
+            public void preorder(LongConsumer action) { t.preorder(action); }
+            public void postorder(LongConsumer action) { t.postorder(action); }
+            public int size() { return t.getSize(); }
+        };
+    }
+
+    private static Target intTarget(IntAVLTree t) { //Keys must fit in an int
+        return new Target() {
+            public boolean insert(long key) { return t.insert(toInt(key)); }
+            public boolean search(long key) { return key == (int)key && t.search((int)key); } //Out of range is simply absent
+            public boolean delete(long key) { return key == (int)key && t.delete((int)key); } //Out of range is simply absent
+            public void range(long from, long to, LongConsumer action) { //Clamp the bounds to int
+                if (from > to || from > Integer.MAX_VALUE || to < Integer.MIN_VALUE) return; //Empty
+                t.range((int)Math.max(from, Integer.MIN_VALUE), (int)Math.min(to, Integer.MAX_VALUE), action::accept); //Widening
+            }
+            public void inorder(LongConsumer action) { t.inorder(action::accept); }
+            public void preorder(LongConsumer action) { t.preorder(action::accept); }
+            public void postorder(LongConsumer action) { t.postorder(action::accept); }
+            public int size() { return t.getSize(); }
+        };
+    }
+
+    private static int toInt(long key) { //Reject keys the int tree cannot hold
+        if (key != (int)key) throw new IllegalArgumentException("key " + key + " does not fit --tree=int"); //Overflow
+        return (int)key; //Narrowed
+    }
+
+    private static Target offHeapTarget(OffHeapLongAVLTree t) { //Direct calls, memory released by close()
+        return new Target() {
+            public boolean insert(long key) { return t.insert(key); }
+            public boolean search(long key) { return t.search(key); }
+            public boolean delete(long key) { return t.delete(key); }
+            public void range(long from, long to, LongConsumer action) { t.range(from, to, action); }
+            public void inorder(LongConsumer action) { t.inorder(action); }
+            public void preorder(LongConsumer action) { t.preorder(action); }
+            public void postorder(LongConsumer action) { t.postorder(action); }
+            public int size() { return t.getSize(); }
+            public void close() throws IOException { t.close(); }
+        };
+    }
+
+    private static Target objectTarget(WilnerTree<Long> t) { //Any generic tree, keys boxed
+        return new Target() {
+            public boolean insert(long key) { return t.insert(key); }
+            public boolean search(long key) { return t.search(key); }
+            public boolean delete(long key) { return t.delete(key); }
+            @SuppressWarnings("unchecked")
+            public void range(long from, long to, LongConsumer action) { //Sub-set view when available, else a bounded inorder walk
+                if (from > to) return; //Empty
+                if (t instanceof NavigableSet) { for (Long k : ((NavigableSet<Long>)t).subSet(from, true, to, true)) action.accept(k); return; } //O(log n + k)
+                for (Long k : t) { if (k > to) break; if (k >= from) action.accept(k); } //Iterator is ascending
+            }
+            public void inorder(LongConsumer action) { t.inorder(action::accept); }
+            public void preorder(LongConsumer action) { t.preorder(action::accept); }
+            public void postorder(LongConsumer action) { t.postorder(action::accept); }
+            public int size() { return t.getSize(); }
+        };
+    }
+}
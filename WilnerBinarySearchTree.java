@@ -1,53 +1,392 @@
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.function.*;
 
-public class WilnerBinarySearchTree<E extends Comparable<E>> implements WilnerTree<E> {
+public class WilnerBinarySearchTree<E extends Comparable<E>> implements WilnerNavigableTree<E> {
     protected class WilnerTreeNode<T> { //Tree node class
         T element;            //Stored element
         WilnerTreeNode<T> left;  //Left child reference
         WilnerTreeNode<T> right; //Right child reference
+        int count = 1;           //Nodes in this subtree (maintained only when order statistics are enabled)
         WilnerTreeNode(T e) { this.element = e; } //Constructor sets the element
     }
     
     protected WilnerTreeNode<E> root; //Root of the BST
     protected int size = 0;           //Number of nodes
+    protected int modCount = 0;       //Structural modification counter for fail-fast iterators
+    protected boolean orderStatistics = false; //Maintain subtree counts for O(log n) rank/select
+    protected WilnerTreeMetrics metrics;       //Hot-path instrumentation, null when disabled
+    protected boolean fingerEnabled = false;   //Start search/insert from the last touched path instead of the root
+    protected WilnerTreeNode<E>[] finger;      //finger[0..fingerDepth) = path from the root to the last touched node
+    protected Object[] fingerLo, fingerHi;     //Exclusive element bounds of each finger subtree, null = unbounded
+    protected int fingerDepth = 0;             //Entries in finger
+    protected int fingerCmp;                   //Last comparison of the latest finger descent (0 = found)
+    protected int fingerSteps;                 //compareTo calls made by the latest finger descent, climbing included
+    protected int fingerModCount = -1;         //modCount the finger was recorded at; any other value means stale
+    private WilnerTreeNode<E>[] ancestors;     //Reusable insert/delete path for count maintenance, root first
+    private Object[] accessCache;              //Direct-mapped cache of elements known to be present, null when disabled
 
     public WilnerBinarySearchTree() {} //No-arg constructor
 
     public WilnerBinarySearchTree(E[] objects) { //Construct from array
-        for (E e : objects) insert(e); //Insert each element
+        bulkLoad(objects); //Balanced linear-time build instead of one insert per element
+    }
+    
+    public void bulkLoad(E[] objects) { //Replace contents with objects as a perfectly balanced tree
+        E[] sorted = objects; //Use the caller's array directly when already sorted and distinct
+        int n = objects.length; //Number of distinct elements
+        if (!isStrictlyAscending(objects)) { //Unsorted or duplicated input
+            sorted = Arrays.copyOf(objects, objects.length); //Never reorder the caller's array
+            Arrays.parallelSort(sorted); //Sort on the common fork-join pool
+            n = removeAdjacentDuplicates(sorted); //Compact duplicates to the front
+        }
+        root = buildBalanced(sorted, 0, n - 1); //Linear-time build, node bookkeeping set in the same pass
+        size = n; //New size
+        modCount++; //Invalidate outstanding iterators (and the finger)
+        invalidateAccessCache(); //Previous contents are gone
+    }
+    
+    public void save(Path file, WilnerKeyCodec<? super E> codec) throws IOException { //Write a checksummed snapshot of the keys in ascending order
+        WilnerTreeStore.save(this, file, codec); //Temporary file plus atomic rename
+    }
+    
+    public void load(Path file, WilnerKeyCodec<? extends E> codec) throws IOException { //Replace contents with a snapshot written by save()
+        bulkLoad(WilnerTreeStore.<E>load(file, codec)); //Memory-mapped decode, then a linear balanced build (no per-key rebalancing)
+    }
+    
+    private boolean isStrictlyAscending(E[] a) { //True if a is sorted with no duplicates
+        for (int i = 1; i < a.length; i++) { //Check each adjacent pair
+            if (a[i - 1].compareTo(a[i]) >= 0) return false; //Out of order or duplicate
+        }
+        return true; //Sorted and distinct
+    }
+    
+    private int removeAdjacentDuplicates(E[] sorted) { //Compact a sorted array in place, return distinct count
+        if (sorted.length == 0) return 0; //Nothing to compact
+        int n = 1; //First element is always kept
+        for (int i = 1; i < sorted.length; i++) { //Scan the rest
+            if (sorted[i].compareTo(sorted[n - 1]) != 0) sorted[n++] = sorted[i]; //Keep first of each run
+        }
+        return n; //Distinct elements now occupy [0, n)
+    }
+    
+    protected WilnerTreeNode<E> buildBalanced(E[] sorted, int lo, int hi) { //Build balanced subtree over sorted[lo..hi]
+        if (lo > hi) return null; //Empty range
+        int mid = (lo + hi) >>> 1; //Middle element becomes the subtree root
+        WilnerTreeNode<E> node = createNode(sorted[mid]); //Create node of the right kind
+        node.left = buildBalanced(sorted, lo, mid - 1);  //Lower half
+        node.right = buildBalanced(sorted, mid + 1, hi); //Upper half
+        updateNode(node); //Children are final, so per-node data can be computed now
+        return node; //Return subtree root
+    }
+    
+    protected WilnerTreeNode<E> createNode(E e) { //Factory so subclasses can use their own node type
+        return new WilnerTreeNode<>(e); //Plain BST node
+    }
+    
+    protected void updateNode(WilnerTreeNode<E> node) { //Recompute per-node data from children
+        if (orderStatistics) node.count = 1 + count(node.left) + count(node.right); //Subtree size
+    }
+    
+    protected static int count(WilnerBinarySearchTree<?>.WilnerTreeNode<?> node) { //Subtree size, 0 for null
+        return node == null ? 0 : node.count; //Valid only while order statistics are enabled
+    }
+    
+    private void recordAncestor(int i, WilnerTreeNode<E> node) { //ancestors[i] = node, growing the buffer by doubling (a plain BST path can be long)
+        if (ancestors == null) ancestors = newPath(32); //First use
+        else if (i == ancestors.length) ancestors = Arrays.copyOf(ancestors, i * 2); //Full
+        ancestors[i] = node; //Record
+    }
+    
+    private void adjustCounts(int depth, int delta) { //Add delta to the counts of ancestors[0..depth) and release them (delta 0 only releases)
+        for (int i = 0; i < depth; i++) { //Root first
+            ancestors[i].count += delta; //Ancestor subtree changes size
+            ancestors[i] = null; //Do not keep nodes reachable from the shared buffer
+        }
+    }
+    
+    public void setOrderStatistics(boolean enabled) { //Turn subtree-count maintenance on or off
+        if (enabled && !orderStatistics) { //Counts may be stale: recompute them
+            orderStatistics = true; //updateNode now maintains counts
+            postorderNodes(this::updateNode); //Children before parents, O(n) once
+        }
+        orderStatistics = enabled; //Remember the mode
+    }
+    
+    public boolean isOrderStatisticsEnabled() { //True if rank/select run in O(log n)
+        return orderStatistics; //Current mode
+    }
+    
+    public void setFingerSearch(boolean enabled) { //Start operations from the last touched position: O(log d) for nearby keys
+        fingerEnabled = enabled; //Read by search and insert
+        fingerDepth = 0; //Start fresh
+        if (!enabled) { finger = null; fingerLo = fingerHi = null; } //Do not keep nodes reachable
+    }
+    
+    public boolean isFingerSearchEnabled() { //True if finger search is on
+        return fingerEnabled; //Current mode
+    }
+    
+    public void setAccessCache(int capacity) { //Hot-key cache in front of search; capacity is rounded up to a power of two, 0 turns it off
+        if (capacity < 0) throw new IllegalArgumentException("capacity < 0"); //Nonsense
+        accessCache = capacity == 0 ? null : new Object[Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1]; //Direct-mapped slots
+    }
+    
+    public int getAccessCacheCapacity() { //Slots in the hot-key cache, 0 if disabled
+        return accessCache == null ? 0 : accessCache.length; //Current size
+    }
+    
+    private int cacheSlot(Object e) { //Slot for an element: spread hash bits, mask to the table
+        int h = e.hashCode(); //Element hash
+        return (h ^ (h >>> 16)) & (accessCache.length - 1); //Power-of-two table
+    }
+    
+    @SuppressWarnings("unchecked")
+    private boolean cacheHit(E e) { //True if e (by compareTo) is cached as present
+        Object cached = accessCache[cacheSlot(e)]; //One probe
+        return cached != null && e.compareTo((E)cached) == 0; //Same element as far as the tree is concerned
+    }
+    
+    protected void forget(E stored) { //Drop a removed element from the cache (call with the element as stored in the tree)
+        if (accessCache == null) return; //Disabled
+        int slot = cacheSlot(stored); //Where it would be cached
+        if (accessCache[slot] != null && stored.compareTo(elementAt(slot)) == 0) accessCache[slot] = null; //Invalidate
+    }
+    
+    @SuppressWarnings("unchecked")
+    private E elementAt(int slot) { return (E)accessCache[slot]; } //Typed read of a cache slot
+    
+    protected void invalidateAccessCache() { //Called when elements are removed other than through delete()
+        if (accessCache != null) Arrays.fill(accessCache, null); //Forget everything
+    }
+    
+    protected void applyBufferedWrites() {} //Hook for subclasses that defer writes; called before the nodes are read directly
+    
+    @SuppressWarnings("unchecked")
+    protected WilnerTreeNode<E>[] newPath(int length) { //Path array of this tree's node type
+        return (WilnerTreeNode<E>[])new WilnerBinarySearchTree<?>.WilnerTreeNode<?>[length]; //Plain nodes
+    }
+    
+    protected int fingerDescend(E e) { //Record the search path for e in finger, reusing the recorded prefix; returns the path length
+        int depth = 0; //Entries [0, depth) are kept
+        WilnerTreeNode<E> node = root; //Start node
+        Object lo = null, hi = null; //Bounds of node's subtree
+        fingerSteps = 0; //Compares, including those spent climbing
+        if (fingerDepth > 0 && fingerModCount == modCount) { //Finger still describes this tree
+            depth = fingerDepth - 1; //Deepest recorded node
+            while (depth > 0 && !fingerCovers(depth, e)) depth--; //Climb until e is inside the subtree (the root covers everything)
+            node = finger[depth]; lo = fingerLo[depth]; hi = fingerHi[depth]; //Resume here
+        }
+        int resume = depth; //Descent compares are counted from here
+        fingerCmp = 1; //Empty tree: nothing found
+        while (node != null) { //Descend, recording every node
+            if (finger == null || depth + 1 >= finger.length) growFinger(depth); //Room for this node and a new leaf
+            finger[depth] = node; fingerLo[depth] = lo; fingerHi[depth] = hi; depth++; //Record
+            fingerCmp = e.compareTo(node.element); //Compare
+            if (fingerCmp < 0) { hi = node.element; node = node.left; } //Left subtree: bounded above by node
+            else if (fingerCmp > 0) { lo = node.element; node = node.right; } //Right subtree: bounded below by node
+            else break; //Found
+        }
+        fingerSteps += depth - resume; //Nodes compared on the way down
+        fingerDepth = depth; //New finger
+        fingerModCount = modCount; //Valid until the next structural change
+        return depth; //Path length
+    }
+    
+    @SuppressWarnings("unchecked")
+    private boolean fingerCovers(int i, E e) { //True if e lies strictly inside finger[i]'s bounds
+        Object lo = fingerLo[i], hi = fingerHi[i]; //Bounds
+        if (lo != null) { fingerSteps++; if (e.compareTo((E)lo) <= 0) return false; } //At or below the lower bound
+        if (hi != null) { fingerSteps++; if (e.compareTo((E)hi) >= 0) return false; } //At or above the upper bound
+        return true; //Open interval
+    }
+    
+    private void growFinger(int keep) { //Reallocate the finger arrays larger, keeping the first keep entries
+        int length = finger == null ? 32 : finger.length * 2; //Doubling (a plain BST path can be long)
+        WilnerTreeNode<E>[] f = newPath(length); //Node type chosen by the subclass
+        if (finger != null) System.arraycopy(finger, 0, f, 0, keep); //Keep prefix
+        finger = f; //Install
+        fingerLo = fingerLo == null ? new Object[length] : Arrays.copyOf(fingerLo, length); //Bounds
+        fingerHi = fingerHi == null ? new Object[length] : Arrays.copyOf(fingerHi, length);
+    }
+    
+    public void setMetrics(WilnerTreeMetrics metrics) { //Attach instrumentation, or pass null to turn it off
+        this.metrics = metrics; //Hot paths only test this field for null
+    }
+    
+    public WilnerTreeMetrics getMetrics() { //Attached instrumentation, null if disabled
+        return metrics; //Current metrics
+    }
+    
+    public WilnerTreeMetrics.Snapshot metricsSnapshot() { //Counters plus height and depth histogram (O(n) shape walk)
+        if (metrics == null) throw new IllegalStateException("metrics are not enabled"); //Nothing to report
+        return metrics.snapshot(getClass().getSimpleName(), getSize(), depthHistogram()); //Freeze and emit shape event
+    }
+    
+    public long[] depthHistogram() { //[d] = number of nodes at depth d (root at 0); length is the height
+        applyBufferedWrites(); //Deferred writes change the shape
+        long[] histogram = new long[16]; //Grown as needed
+        int levels = 0; //Levels seen
+        ArrayDeque<WilnerTreeNode<E>> level = new ArrayDeque<>(); //Nodes of the current level
+        if (root != null) level.add(root); //Start at the root
+        while (!level.isEmpty()) { //Breadth-first, one level at a time
+            if (levels == histogram.length) histogram = Arrays.copyOf(histogram, levels * 2); //Grow
+            int width = level.size(); //Nodes on this level
+            histogram[levels++] = width; //Record
+            for (int i = 0; i < width; i++) { //Replace the level by its children
+                WilnerTreeNode<E> node = level.poll(); //Next node
+                if (node.left != null) level.add(node.left);   //Next level
+                if (node.right != null) level.add(node.right); //Next level
+            }
+        }
+        return Arrays.copyOf(histogram, levels); //Trim to the height
+    }
+    
+    public int height() { //Number of levels, 0 if empty
+        return depthHistogram().length; //O(n) for a plain BST
+    }
+    
+    public int rank(E e) { //Number of elements strictly less than e
+        return countBelow(e, false); //Exclusive bound
+    }
+    
+    public E select(int k) { //Return the k-th smallest element (0-based)
+        applyBufferedWrites(); //size and counts must include deferred writes
+        if (k < 0 || k >= size) throw new IndexOutOfBoundsException("Index: " + k + ", Size: " + size); //Out of range
+        if (!orderStatistics) { //No counts: walk the iterator
+            Iterator<E> it = iterator(); //Inorder
+            for (int i = 0; i < k; i++) it.next(); //Skip k elements
+            return it.next(); //The k-th
+        }
+        WilnerTreeNode<E> current = root; //Start at the root
+        while (true) { //k is always within current's subtree
+            int leftCount = count(current.left); //Elements smaller than current within this subtree
+            if (k < leftCount) current = current.left; //Answer is on the left
+            else if (k == leftCount) return current.element; //Current is the k-th
+            else { k -= leftCount + 1; current = current.right; } //Skip left subtree and current
+        }
+    }
+    
+    public E get(int index) { //Positional access in sorted order
+        return select(index); //Same as select
+    }
+    
+    public int countInRange(E lo, E hi) { //Number of elements x with lo <= x <= hi
+        if (lo.compareTo(hi) > 0) return 0; //Empty range
+        return countBelow(hi, true) - countBelow(lo, false); //Elements <= hi minus elements < lo
+    }
+    
+    private int countBelow(E e, boolean inclusive) { //Number of elements < e (or <= e if inclusive)
+        applyBufferedWrites(); //Counts must include deferred writes
+        int n = 0; //Running count
+        if (!orderStatistics) { //No counts: walk the iterator and stop at the bound
+            for (E x : this) { //Inorder
+                int cmp = x.compareTo(e); //Compare with bound
+                if (cmp > 0 || (cmp == 0 && !inclusive)) break; //Past the bound
+                n++; //Counted
+            }
+            return n; //Result
+        }
+        return countedBelow(e, inclusive); //O(log n) descent
+    }
+    
+    private int countedBelow(E e, boolean inclusive) { //countBelow() via subtree counts only: no buffered writes applied, no iteration (order statistics must be on)
+        int n = 0; //Running count
+        WilnerTreeNode<E> current = root; //Start at the root
+        while (current != null) { //Descend toward e
+            int cmp = e.compareTo(current.element); //Compare
+            if (cmp < 0) current = current.left; //Current and its right side are too big
+            else if (cmp == 0) return n + count(current.left) + (inclusive ? 1 : 0); //Everything left of e, plus e itself if inclusive
+            else { n += count(current.left) + 1; current = current.right; } //Left subtree and current are below e
+        }
+        return n; //e is not in the tree
     }
     
     @Override
     public boolean search(E e) { //Search for an element starting at root
+        if (accessCache != null && cacheHit(e)) { //Hot key: no descent at all
+            if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.SEARCH, 1, 0); //Instrumentation
+            return true; //Cached elements are always present
+        }
+        if (fingerEnabled) { //Start from the last touched position
+            int depth = fingerDescend(e); //Record the path
+            boolean found = fingerCmp == 0; //Hit?
+            if (found && accessCache != null) accessCache[cacheSlot(finger[depth - 1].element)] = finger[depth - 1].element; //Remember the hit
+            if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.SEARCH, fingerSteps, fingerSteps); //Climb plus descent
+            return found; //Result
+        }
         WilnerTreeNode<E> current = root; //Start at the root
+        int steps = 0; //Nodes visited (one compareTo each)
         while (current != null) { //Traverse until null
+            steps++; //Visit node
             int cmp = e.compareTo(current.element); //Compare target with current
             if (cmp < 0) current = current.left;     //Go left if smaller
             else if (cmp > 0) current = current.right; //Go right if larger
-            else return true; //Found equal element
+            else { //Found equal element
+                if (accessCache != null) accessCache[cacheSlot(current.element)] = current.element; //Remember the hit
+                if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.SEARCH, steps, steps); //Instrumentation
+                return true; //Found
+            }
         }
+        if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.SEARCH, steps, steps); //Instrumentation
         return false; //Not found
     }
     
     @Override
     public boolean insert(E e) { //Insert a new element if not duplicate
         if (root == null) { //Empty tree case
-            root = new WilnerTreeNode<>(e); //New root node
+            root = createNode(e); //New root node
             size++; //Increment size
+            modCount++; //Record structural change
+            if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, 0, 0); //Instrumentation
             return true; //Inserted
         }
+        if (fingerEnabled) return fingerInsert(e); //Resume from the last touched position
         WilnerTreeNode<E> parent = null; //Track parent during search
         WilnerTreeNode<E> current = root; //Start at root
+        int steps = 0; //Nodes visited (one compareTo each)
         while (current != null) { //Traverse tree to find position
+            steps++; //Visit node
             int cmp = e.compareTo(current.element); // Compare
+            if (cmp != 0 && orderStatistics) recordAncestor(steps - 1, current); //Its count changes if e is inserted below it
             if (cmp < 0) { parent = current; current = current.left; } //Move left
             else if (cmp > 0) { parent = current; current = current.right; } //Move right
-            else return false; // Duplicate: not inserted
+            else { //Duplicate: not inserted
+                if (orderStatistics) adjustCounts(steps - 1, 0); //Release the path
+                if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, steps, steps); //Instrumentation
+                return false; //Nothing changed
+            }
         }
         int cmp = e.compareTo(parent.element); //Compare with parent to attach
-        if (cmp < 0) parent.left = new WilnerTreeNode<>(e); //Attach as left child
-        else parent.right = new WilnerTreeNode<>(e);        //Attach as right child
+        if (cmp < 0) parent.left = createNode(e); //Attach as left child
+        else parent.right = createNode(e);        //Attach as right child
+        if (orderStatistics) adjustCounts(steps, 1); //Each ancestor on the recorded path gained a node
+        if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, steps + 1, steps); //Instrumentation (plus the attach compare)
         size++; //Increment size
+        modCount++; //Record structural change
+        return true; //Inserted successfully
+    }
+    
+    private boolean fingerInsert(E e) { //insert() with finger search; no rotations here, so the finger stays valid
+        int depth = fingerDescend(e); //Path to the attach point
+        int steps = fingerSteps; //Climb plus descent
+        if (fingerCmp == 0) { //Duplicate: not inserted
+            if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, steps, steps); //Instrumentation
+            return false; //Nothing changed
+        }
+        WilnerTreeNode<E> parent = finger[depth - 1], leaf = createNode(e); //Attach point and new node
+        if (fingerCmp < 0) parent.left = leaf; //Attach as left child
+        else parent.right = leaf;              //Attach as right child
+        if (orderStatistics) for (int i = 0; i < depth; i++) finger[i].count++; //The finger is the ancestor path
+        finger[depth] = leaf; //Extend the finger to the new leaf
+        fingerLo[depth] = fingerCmp > 0 ? parent.element : fingerLo[depth - 1]; //Leaf bounds from its parent
+        fingerHi[depth] = fingerCmp < 0 ? parent.element : fingerHi[depth - 1];
+        if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.INSERT, steps, steps); //Instrumentation
+        size++; //Increment size
+        modCount++; //Record structural change
+        fingerDepth = depth + 1; //Path now ends at the leaf
+        fingerModCount = modCount; //Still valid: only a leaf was added
         return true; //Inserted successfully
     }
     
@@ -55,13 +394,23 @@ public class WilnerBinarySearchTree<E extends Comparable<E>> implements WilnerTr
     public boolean delete(E e) { //Delete an element if present
         WilnerTreeNode<E> parent = null; //Parent pointer
         WilnerTreeNode<E> current = root; //Start at root
+        int steps = 0; //Nodes visited (one compareTo each)
         while (current != null) { //Find the node
+            steps++; //Visit node
             int cmp = e.compareTo(current.element); //Compare
+            if (cmp != 0 && orderStatistics) recordAncestor(steps - 1, current); //Its count changes if e is below it
             if (cmp < 0) { parent = current; current = current.left; } //Go left
             else if (cmp > 0) { parent = current; current = current.right; } //Go right
             else break; //Found node
         }
-        if (current == null) return false; //Not found: nothing to delete
+        if (current == null) { //Not found: nothing to delete
+            if (orderStatistics) adjustCounts(steps, 0); //Release the path
+            if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.DELETE, steps, steps); //Instrumentation
+            return false; //Nothing changed
+        }
+        int path = steps; //Nodes on the path, including the predecessor walk below
+        if (orderStatistics) adjustCounts(steps - 1, -1); //Each strict ancestor on the recorded path loses a node
+        forget(current.element); //No longer present
 
         if (current.left == null) { //Case 1: no left child
             if (parent == null) root = current.right; //Deleting root: move right child up
@@ -70,7 +419,11 @@ public class WilnerBinarySearchTree<E extends Comparable<E>> implements WilnerTr
         } else { //Case 2: has left child -> find rightmost in left subtree
             WilnerTreeNode<E> parentOfRightMost = current; //Start at current
             WilnerTreeNode<E> rightMost = current.left;    //Move into left subtree
+            if (orderStatistics) current.count--; //current keeps its place but loses a descendant
+            path++; //rightMost visited
             while (rightMost.right != null) { //Find rightmost
+                path++; //Walk one more level
+                if (orderStatistics) rightMost.count--; //Nodes above the removed one shrink too
                 parentOfRightMost = rightMost; //Advance parent pointer
                 rightMost = rightMost.right;   //Advance rightMost pointer
             }
@@ -78,30 +431,15 @@ public class WilnerBinarySearchTree<E extends Comparable<E>> implements WilnerTr
             if (parentOfRightMost.right == rightMost) parentOfRightMost.right = rightMost.left; //Relink around removed node
             else parentOfRightMost.left = rightMost.left; //If the rightMost was directly current.left
         }
+        if (metrics != null) metrics.record(WilnerTreeMetrics.Operation.DELETE, steps, path); //Instrumentation
         size--; //Decrement size
+        modCount++; //Record structural change
         return true; //Deleted
     }
     
-    @Override
-    public void inorder() { //Print inorder traversal
-        for (E e : inorderList()) System.out.print(e + " "); //Print each with space
-        System.out.println(); //Newline at end
-    }
-    
-    @Override
-    public void postorder() { //Print postorder traversal
-        for (E e : postorderList()) System.out.print(e + " "); //Print each with space
-        System.out.println(); //Newline
-    }
-    
-    @Override
-    public void preorder() { //Print preorder traversal
-        for (E e : preorderList()) System.out.print(e + " "); //Print each with space
-        System.out.println(); //Newline
-    }
-    
     @Override
     public int getSize() { //Return size
+        applyBufferedWrites(); //Deferred inserts and deletes count
         return size; //Return the number of nodes
     }
     
@@ -109,60 +447,581 @@ public class WilnerBinarySearchTree<E extends Comparable<E>> implements WilnerTr
     public void clear() { //Clear the tree
         root = null; //Drop reference to root
         size = 0;    //Reset size
+        modCount++;  //Invalidate outstanding iterators (and the finger)
+        invalidateAccessCache(); //Nothing is present any more
     }
     
     @Override
-    public Iterator<E> iterator() { //Return an inorder iterator
-        List<E> list = inorderList(); //Get inorder list
-        return list.iterator(); //Return its iterator
+    public Iterator<E> iterator() { //Return a lazy inorder iterator
+        return new WilnerTreeIterator(); //Walks the tree with an explicit stack
+    }
+    
+    @Override
+    public Spliterator<E> spliterator() { //Splits by key range at subtree roots, so parallel streams divide the work
+        applyBufferedWrites(); //Split the final shape
+        return new WilnerTreeSpliterator(root, null, null, size); //Whole tree, exact size
     }
     
     @Override
     public List<E> inorderList() { //Build inorder list
-        List<E> list = new ArrayList<>(); //Create list
-        inorder(root, list); //Fill list via recursion
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        inorder(list::add); //Fill list iteratively
         return list; //Return list
     }
     
     @Override
     public List<E> preorderList() { //Build preorder list
-        List<E> list = new ArrayList<>(); //Create list
-        preorder(root, list); //Fill list
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        preorder(list::add); //Fill list iteratively
         return list; //Return list
     }
     
     @Override
     public List<E> postorderList() { //Build postorder list
-        List<E> list = new ArrayList<>(); //Create list
-        postorder(root, list); //Fill list
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        postorder(list::add); //Fill list iteratively
         return list; //Return list
     }
     
-    private void inorder(WilnerTreeNode<E> node, List<E> list) { // Recursive inorder helper
-        if (node == null) return; //Base case
-        inorder(node.left, list); //Traverse left
-        list.add(node.element);   //Visit node
-        inorder(node.right, list);//Traverse right
+    @Override
+    public void inorder(Consumer<? super E> action) { //Iterative inorder: explicit stack, no recursion
+        applyBufferedWrites(); //Visit deferred inserts too
+        ArrayDeque<WilnerTreeNode<E>> stack = new ArrayDeque<>(); //Ancestors whose element is still pending
+        WilnerTreeNode<E> node = root; //Start at the root
+        while (node != null || !stack.isEmpty()) { //Until every node is visited
+            while (node != null) { stack.push(node); node = node.left; } //Push left spine
+            node = stack.pop(); //Leftmost unvisited node
+            action.accept(node.element); //Visit node
+            node = node.right; //Continue with right subtree
+        }
+    }
+    
+    @Override
+    public void preorder(Consumer<? super E> action) { //Iterative preorder: explicit stack, no recursion
+        applyBufferedWrites(); //Visit deferred inserts too
+        if (root == null) return; //Nothing to visit
+        ArrayDeque<WilnerTreeNode<E>> stack = new ArrayDeque<>(); //Subtrees still to visit
+        stack.push(root); //Start at the root
+        while (!stack.isEmpty()) { //Until every node is visited
+            WilnerTreeNode<E> node = stack.pop(); //Next subtree root
+            action.accept(node.element); //Visit node
+            if (node.right != null) stack.push(node.right); //Right pushed first so left is visited first
+            if (node.left != null) stack.push(node.left);   //Left on top
+        }
+    }
+    
+    @Override
+    public void postorder(Consumer<? super E> action) { //Iterative postorder: explicit stack, no recursion
+        postorderNodes(node -> action.accept(node.element)); //Visit elements
+    }
+    
+    protected void postorderNodes(Consumer<WilnerTreeNode<E>> action) { //Visit nodes children-first without recursion
+        applyBufferedWrites(); //Visit deferred inserts too
+        ArrayDeque<WilnerTreeNode<E>> stack = new ArrayDeque<>(); //Ancestors whose element is still pending
+        WilnerTreeNode<E> node = root; //Start at the root
+        WilnerTreeNode<E> lastVisited = null; //Last node handed to action
+        while (node != null || !stack.isEmpty()) { //Until every node is visited
+            while (node != null) { stack.push(node); node = node.left; } //Push left spine
+            WilnerTreeNode<E> top = stack.peek(); //Deepest pending ancestor
+            if (top.right != null && top.right != lastVisited) node = top.right; //Right subtree not done yet
+            else { //Both subtrees done
+                action.accept(top); //Visit node
+                lastVisited = stack.pop(); //Mark as done
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() { //Return a lazy reverse-inorder iterator
+        return new WilnerTreeIterator(null, true); //Largest element first
+    }
+    
+    protected WilnerTreeNode<E> ceilingNode(E e, boolean inclusive) { //Smallest node >= e (or > e if not inclusive)
+        applyBufferedWrites(); //Deferred writes may move the answer
+        WilnerTreeNode<E> best = null; //Best candidate so far
+        WilnerTreeNode<E> current = root; //Start at the root
+        while (current != null) { //Descend to a leaf
+            int cmp = e.compareTo(current.element); //Compare
+            if (cmp < 0 || (cmp == 0 && inclusive)) { best = current; if (cmp == 0) break; current = current.left; } //Candidate: look for a smaller one
+            else current = current.right; //Too small
+        }
+        return best; //null if none
+    }
+    
+    protected WilnerTreeNode<E> floorNode(E e, boolean inclusive) { //Largest node <= e (or < e if not inclusive)
+        applyBufferedWrites(); //Deferred writes may move the answer
+        WilnerTreeNode<E> best = null; //Best candidate so far
+        WilnerTreeNode<E> current = root; //Start at the root
+        while (current != null) { //Descend to a leaf
+            int cmp = e.compareTo(current.element); //Compare
+            if (cmp > 0 || (cmp == 0 && inclusive)) { best = current; if (cmp == 0) break; current = current.right; } //Candidate: look for a larger one
+            else current = current.left; //Too large
+        }
+        return best; //null if none
+    }
+    
+    protected WilnerTreeNode<E> firstNode() { //Leftmost node, null if empty
+        applyBufferedWrites(); //Deferred writes may move the answer
+        WilnerTreeNode<E> current = root; //Start at the root
+        if (current != null) while (current.left != null) current = current.left; //Go left until null
+        return current; //Leftmost
+    }
+    
+    protected WilnerTreeNode<E> lastNode() { //Rightmost node, null if empty
+        applyBufferedWrites(); //Deferred writes may move the answer
+        WilnerTreeNode<E> current = root; //Start at the root
+        if (current != null) while (current.right != null) current = current.right; //Go right until null
+        return current; //Rightmost
+    }
+    
+    private static <T> T elementOrNull(WilnerBinarySearchTree<?>.WilnerTreeNode<T> node) { //Unwrap a possibly-null node
+        return node == null ? null : node.element; //Element or null
+    }
+    
+    @Override
+    public E lower(E e) { return elementOrNull(floorNode(e, false)); }    //Greatest element < e
+    
+    @Override
+    public E floor(E e) { return elementOrNull(floorNode(e, true)); }     //Greatest element <= e
+    
+    @Override
+    public E ceiling(E e) { return elementOrNull(ceilingNode(e, true)); } //Least element >= e
+    
+    @Override
+    public E higher(E e) { return elementOrNull(ceilingNode(e, false)); } //Least element > e
+    
+    @Override
+    public E first() { //Smallest element
+        WilnerTreeNode<E> node = firstNode(); //Leftmost
+        if (node == null) throw new NoSuchElementException(); //Empty tree
+        return node.element; //Leftmost
+    }
+    
+    @Override
+    public E last() { //Largest element
+        WilnerTreeNode<E> node = lastNode(); //Rightmost
+        if (node == null) throw new NoSuchElementException(); //Empty tree
+        return node.element; //Rightmost
+    }
+    
+    @Override
+    public E pollFirst() { //Remove and return the smallest element, null if empty
+        E e = elementOrNull(firstNode()); //Smallest
+        if (e != null) delete(e); //Remove through delete so subclasses rebalance
+        return e; //Removed element
+    }
+    
+    @Override
+    public E pollLast() { //Remove and return the largest element, null if empty
+        E e = elementOrNull(lastNode()); //Largest
+        if (e != null) delete(e); //Remove through delete so subclasses rebalance
+        return e; //Removed element
+    }
+    
+    @Override
+    public Comparator<? super E> comparator() { //Natural ordering
+        return null; //Per SortedSet, null means natural ordering
+    }
+    
+    @Override
+    public NavigableSet<E> descendingSet() { //Live reverse-order view
+        return new WilnerSubSet(null, false, null, false, true); //Unbounded, descending
+    }
+    
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) { //Live range view
+        if (fromElement.compareTo(toElement) > 0) throw new IllegalArgumentException("fromKey > toKey"); //Inverted range
+        return new WilnerSubSet(fromElement, fromInclusive, toElement, toInclusive, false); //Bounded on both sides
+    }
+    
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) { //Live view of elements below toElement
+        Objects.requireNonNull(toElement); //null would mean unbounded in the view
+        return new WilnerSubSet(null, false, toElement, inclusive, false); //Upper bound only
     }
     
-    private void preorder(WilnerTreeNode<E> node, List<E> list) { // Recursive preorder helper
-        if (node == null) return; //Base case
-        list.add(node.element);   //Visit node
-        preorder(node.left, list);//Traverse left
-        preorder(node.right, list);//Traverse right
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) { //Live view of elements above fromElement
+        Objects.requireNonNull(fromElement); //null would mean unbounded in the view
+        return new WilnerSubSet(fromElement, inclusive, null, false, false); //Lower bound only
+    }
+    
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) { return subSet(fromElement, true, toElement, false); } //[from, to)
+    
+    @Override
+    public SortedSet<E> headSet(E toElement) { return headSet(toElement, false); } //(-inf, to)
+    
+    @Override
+    public SortedSet<E> tailSet(E fromElement) { return tailSet(fromElement, true); } //[from, +inf)
+    
+    @Override
+    public boolean equals(Object o) { //Set equality: same size and same elements
+        if (o == this) return true; //Same object
+        if (!(o instanceof Set)) return false; //Only sets can be equal to a set
+        Set<?> other = (Set<?>)o; //Cast once
+        if (other.size() != getSize()) return false; //Different sizes
+        try { //Elements of the wrong type cannot be contained
+            return containsAll(other); //Every element of other is here
+        } catch (ClassCastException | NullPointerException ex) { //Incomparable element
+            return false; //Not equal
+        }
     }
     
-    private void postorder(WilnerTreeNode<E> node, List<E> list) { // Recursive postorder helper
-        if (node == null) return; //Base case
-        postorder(node.left, list); //Traverse left
-        postorder(node.right, list);//Traverse right
-        list.add(node.element);     //Visit node
+    @Override
+    public int hashCode() { //Set hash code: sum of element hash codes
+        int h = 0; //Running sum
+        for (E e : this) h += e.hashCode(); //Add each element's hash
+        return h; //Result
     }
+    
+    protected class WilnerTreeIterator implements Iterator<E> { //Lazy inorder iterator using O(height) memory
+        private final ArrayDeque<WilnerTreeNode<E>> stack = new ArrayDeque<>(); //Pending ancestors, next node on top
+        private final WilnerSubSet range; //Bounds to stay within, null for the whole tree
+        private final boolean descending; //True to walk from largest to smallest
+        private E lastReturned;              //Element returned by the last call to next()
+        private boolean canRemove = false;   //True once next() has been called and remove() not yet used
+        private int expectedModCount = modCount; //Snapshot of modCount for fail-fast checks
+
+        WilnerTreeIterator() { this(null, false); } //Whole tree, ascending
+
+        WilnerTreeIterator(WilnerSubSet range, boolean descending) { //Seek to the first element in O(height)
+            this.range = range; //Remember bounds
+            this.descending = descending; //Remember direction
+            applyBufferedWrites(); //Walk the final shape
+            expectedModCount = modCount; //Applying them is a modification of its own
+            if (!descending) { //Ascending: start at the lower bound
+                if (range == null || range.fromStart) pushSpine(root); //No lower bound: leftmost node
+                else seek(range.lo, range.loInclusive); //Smallest element inside the lower bound
+            } else { //Descending: start at the upper bound
+                if (range == null || range.toEnd) pushSpine(root); //No upper bound: rightmost node
+                else seek(range.hi, range.hiInclusive); //Largest element inside the upper bound
+            }
+        }
+
+        private void pushSpine(WilnerTreeNode<E> node) { //Push node and its spine toward the next element
+            while (node != null) { //Walk down the near edge
+                stack.push(node); //Remember node to visit after its near subtree
+                node = descending ? node.right : node.left; //Continue toward smaller (or larger) elements
+            }
+        }
+
+        private void seek(E e, boolean inclusive) { //Rebuild the stack so the next element is the first one past e
+            stack.clear(); //Discard the old path
+            WilnerTreeNode<E> current = root; //Descend from the root
+            while (current != null) { //Stop at a leaf
+                int cmp = current.element.compareTo(e); //Compare node with the bound
+                if (descending) cmp = -cmp; //Mirror for descending order
+                if (cmp > 0 || (cmp == 0 && inclusive)) { //Node comes at or after the bound: visit later
+                    stack.push(current); //Candidate
+                    current = descending ? current.right : current.left; //Look for an earlier candidate
+                } else current = descending ? current.left : current.right; //Node comes before the bound: skip it
+            }
+        }
+
+        @Override
+        public boolean hasNext() { //More elements remain if the next node is still within range
+            if (stack.isEmpty()) return false; //Exhausted
+            if (range == null) return true; //Whole tree
+            E next = stack.peek().element; //Next element
+            return descending ? !range.tooLow(next) : !range.tooHigh(next); //Stop at the far bound
+        }
+
+        @Override
+        public E next() { //Return the next element in order
+            if (modCount != expectedModCount) throw new ConcurrentModificationException(); //Tree changed underneath us
+            if (!hasNext()) throw new NoSuchElementException(); //Exhausted
+            WilnerTreeNode<E> node = stack.pop(); //Next node in order
+            pushSpine(descending ? node.left : node.right); //Its successors are the far subtree's near spine
+            lastReturned = node.element; //Remember for remove()
+            canRemove = true; //remove() is now allowed
+            return lastReturned; //Return the element
+        }
+
+        @Override
+        public void remove() { //Remove the last returned element from the tree
+            if (!canRemove) throw new IllegalStateException(); //next() not called or already removed
+            if (modCount != expectedModCount) throw new ConcurrentModificationException(); //Tree changed underneath us
+            delete(lastReturned); //Delete through the tree so subclasses rebalance
+            seek(lastReturned, false); //Deletion may move nodes (copies, rotations), so re-find our position
+            expectedModCount = modCount; //Accept our own modification
+            canRemove = false; //Only one remove per next()
+        }
+    }
+    
+    protected class WilnerTreeSpliterator implements Spliterator<E> { //Inorder spliterator over the elements of one subtree in [lo, hi)
+        private WilnerTreeNode<E> top; //Subtree holding every remaining element (it may hold others too)
+        private E lo; //Inclusive lower bound, null if none
+        private final E hi; //Exclusive upper bound, null if none
+        private long estimate; //Remaining elements: exact while unsplit or with order statistics, else halved per split
+        private boolean exact; //True if estimate is exact (SIZED)
+        private ArrayDeque<WilnerTreeNode<E>> stack; //Pending nodes once traversal has started, null before
+        private final int expectedModCount = modCount; //Fail-fast, like the iterator
+
+        WilnerTreeSpliterator(WilnerTreeNode<E> top, E lo, E hi, long estimate) { //Covers the elements of top within [lo, hi)
+            this.top = top; this.lo = lo; this.hi = hi; //Shape and bounds
+            this.estimate = estimate; //Caller's size
+            this.exact = lo == null && hi == null || orderStatistics; //Whole tree, or counted
+        }
+
+        @Override
+        public Spliterator<E> trySplit() { //Hand the range below the highest node strictly inside (lo, hi) to a new spliterator
+            if (stack != null) return null; //Already traversing
+            WilnerTreeNode<E> node = top; //Search for a split point from the top
+            while (node != null) { //Top-most node in range splits the subtree most evenly
+                if (lo != null && node.element.compareTo(lo) <= 0) node = node.right; //Not strictly above lo
+                else if (hi != null && node.element.compareTo(hi) >= 0) node = node.left; //Not below hi
+                else break; //Strictly inside: both sides get work
+            }
+            if (node == null) return null; //At most one element left
+            E mid = node.element; //Prefix is [lo, mid), this keeps [mid, hi)
+            long prefixSize; //Elements handed off
+            if (orderStatistics) prefixSize = (lo == null ? countedBelow(mid, false) : countedBelow(mid, false) - countedBelow(lo, false)); //Exact via subtree counts, without touching buffered writes
+            else { prefixSize = estimate >>> 1; exact = false; } //Balanced trees split about evenly
+            WilnerTreeSpliterator prefix = new WilnerTreeSpliterator(top, lo, mid, prefixSize); //Prefix keeps this subtree, bounded above by mid
+            prefix.exact = exact; //Same accuracy
+            estimate -= prefixSize; //Rest stays here
+            lo = mid; //This keeps [mid, hi)...
+            top = node; //...which lies entirely in node's subtree
+            return prefix; //Prefix is traversed first
+        }
+
+        private void start() { //Push the pruned left spine toward lo
+            stack = new ArrayDeque<>(); //O(height) pending nodes
+            WilnerTreeNode<E> node = top; //Descend from the top
+            while (node != null) { //Skip everything below lo
+                if (lo != null && node.element.compareTo(lo) < 0) node = node.right; //Node and its left side are too small
+                else { stack.push(node); node = node.left; } //Candidate; look for smaller ones
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) { //Visit one element
+            if (action == null) throw new NullPointerException(); //Spliterator contract
+            if (stack == null) start(); //First call
+            if (stack.isEmpty()) { estimate = 0; return false; } //Exhausted: whatever was guessed, nothing remains
+            WilnerTreeNode<E> node = stack.pop(); //Next in order
+            if (hi != null && node.element.compareTo(hi) >= 0) { stack.clear(); estimate = 0; return false; } //Past the range
+            for (WilnerTreeNode<E> n = node.right; n != null; n = n.left) stack.push(n); //Successors: right subtree's left spine
+            if (modCount != expectedModCount) throw new ConcurrentModificationException(); //Tree changed underneath us
+            if (estimate > 0) estimate--; //One fewer remaining; a halved guess may run out before the elements do
+            action.accept(node.element); //Visit
+            return true; //Advanced
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) { //Bulk traversal without per-element modCount checks
+            if (action == null) throw new NullPointerException(); //Spliterator contract
+            if (stack == null) start(); //Not started yet
+            while (!stack.isEmpty()) { //Until exhausted or past hi
+                WilnerTreeNode<E> node = stack.pop(); //Next in order
+                if (hi != null && node.element.compareTo(hi) >= 0) break; //Past the range
+                for (WilnerTreeNode<E> n = node.right; n != null; n = n.left) stack.push(n); //Successors
+                action.accept(node.element); //Visit
+            }
+            stack.clear(); //Nothing more
+            estimate = 0; //Consumed
+            if (modCount != expectedModCount) throw new ConcurrentModificationException(); //Checked once at the end, like ArrayList
+        }
 
-    public void WilnerOutput() { // rint size and traversals in the specified format
-        System.out.println("Number of nodes: " + getSize()); //Print number of nodes
-        System.out.print("Inorder: "); inorder();            //Print inorder on one line
-        System.out.print("Preorder: "); preorder();          //Print preorder on one line
-        System.out.print("Postorder: "); postorder();        //Print postorder on one line
+        @Override
+        public long estimateSize() { return estimate; } //Exact when SIZED is reported
+
+        @Override
+        public int characteristics() { //Sorted by natural order, no duplicates or nulls
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | (exact ? Spliterator.SIZED : 0)
+                 | (orderStatistics ? Spliterator.SUBSIZED : 0); //Splits stay exact only when subtree counts are kept
+        }
+
+        @Override
+        public Comparator<? super E> getComparator() { return null; } //Natural ordering
+    }
+    
+    protected class WilnerSubSet extends AbstractSet<E> implements NavigableSet<E> { //Live bounded (and/or reversed) view
+        final E lo, hi;                 //Bounds in ascending order (ignored when fromStart/toEnd)
+        final boolean loInclusive, hiInclusive; //Whether each bound is part of the view
+        final boolean fromStart, toEnd; //True if the view is unbounded below/above
+        final boolean descending;       //True if the view iterates from largest to smallest
+        
+        WilnerSubSet(E lo, boolean loInclusive, E hi, boolean hiInclusive, boolean descending) { //null bound = unbounded
+            this.lo = lo; this.loInclusive = loInclusive; this.fromStart = lo == null; //Lower bound
+            this.hi = hi; this.hiInclusive = hiInclusive; this.toEnd = hi == null;     //Upper bound
+            this.descending = descending; //Direction
+        }
+        
+        boolean tooLow(E e) { //True if e is below the lower bound
+            if (fromStart) return false; //No lower bound
+            int cmp = e.compareTo(lo); //Compare with bound
+            return cmp < 0 || (cmp == 0 && !loInclusive); //Below, or on an exclusive bound
+        }
+        
+        boolean tooHigh(E e) { //True if e is above the upper bound
+            if (toEnd) return false; //No upper bound
+            int cmp = e.compareTo(hi); //Compare with bound
+            return cmp > 0 || (cmp == 0 && !hiInclusive); //Above, or on an exclusive bound
+        }
+        
+        boolean inRange(E e) { return !tooLow(e) && !tooHigh(e); } //Within both bounds
+        
+        private boolean inClosedRange(E e) { //Within bounds when both bounds are treated as inclusive
+            return (fromStart || e.compareTo(lo) >= 0) && (toEnd || e.compareTo(hi) <= 0); //Used to validate nested views
+        }
+        
+        private E absCeiling(E e, boolean inclusive) { //Least element in view >= e (or > e), ascending sense
+            WilnerTreeNode<E> node = tooLow(e) ? (fromStart ? firstNode() : ceilingNode(lo, loInclusive)) : ceilingNode(e, inclusive); //Clamp to the lower bound
+            return node == null || tooHigh(node.element) ? null : node.element; //Must still be under the upper bound
+        }
+        
+        private E absFloor(E e, boolean inclusive) { //Greatest element in view <= e (or < e), ascending sense
+            WilnerTreeNode<E> node = tooHigh(e) ? (toEnd ? lastNode() : floorNode(hi, hiInclusive)) : floorNode(e, inclusive); //Clamp to the upper bound
+            return node == null || tooLow(node.element) ? null : node.element; //Must still be over the lower bound
+        }
+        
+        private E absLowest() { //Smallest element in view
+            WilnerTreeNode<E> node = fromStart ? firstNode() : ceilingNode(lo, loInclusive); //Seek lower bound
+            return node == null || tooHigh(node.element) ? null : node.element; //Empty view
+        }
+        
+        private E absHighest() { //Largest element in view
+            WilnerTreeNode<E> node = toEnd ? lastNode() : floorNode(hi, hiInclusive); //Seek upper bound
+            return node == null || tooLow(node.element) ? null : node.element; //Empty view
+        }
+        
+        @Override
+        public Iterator<E> iterator() { return new WilnerTreeIterator(this, descending); } //Seek then stream
+        
+        @Override
+        public Iterator<E> descendingIterator() { return new WilnerTreeIterator(this, !descending); } //Opposite direction
+        
+        @Override
+        public int size() { //Number of elements in view
+            if (fromStart && toEnd) return getSize(); //Whole tree
+            if (!fromStart && !toEnd) { //Bounded on both sides: the two counts below overlap when the range is empty
+                int cmp = lo.compareTo(hi); //Bound order
+                if (cmp > 0 || (cmp == 0 && !(loInclusive && hiInclusive))) return 0; //Inverted, or a single point with an open end
+            }
+            if (!orderStatistics) { //No counts: walk the view itself, O(log n + k) instead of walking up from the first element
+                int n = 0; //Elements seen
+                for (Iterator<E> it = iterator(); it.hasNext(); it.next()) n++; //Seek to one bound, stop at the other
+                return n; //Result
+            }
+            int n = toEnd ? getSize() : countBelow(hi, hiInclusive); //Elements under the upper bound
+            return n - (fromStart ? 0 : countBelow(lo, !loInclusive)); //Minus elements under the lower bound
+        }
+        
+        @Override
+        public boolean isEmpty() { return absLowest() == null; } //O(log n) regardless of counts
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) { //In range and in the tree
+            try { //Attempt a safe cast to E
+                return inRange((E)o) && search((E)o); //Check bounds before searching
+            } catch (ClassCastException ex) { //Wrong type
+                return false; //Not contained
+            }
+        }
+        
+        @Override
+        public boolean add(E e) { //Insert into the backing tree
+            if (!inRange(e)) throw new IllegalArgumentException("key out of range"); //Views only accept their range
+            return insert(e); //Insert into the tree
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object o) { //Remove from the backing tree
+            try { //Attempt a safe cast to E
+                return inRange((E)o) && delete((E)o); //Only elements visible through the view
+            } catch (ClassCastException ex) { //Wrong type
+                return false; //Nothing removed
+            }
+        }
+        
+        @Override
+        public E lower(E e) { return descending ? absCeiling(e, false) : absFloor(e, false); }  //Previous in view order
+        
+        @Override
+        public E floor(E e) { return descending ? absCeiling(e, true) : absFloor(e, true); }    //At or before in view order
+        
+        @Override
+        public E ceiling(E e) { return descending ? absFloor(e, true) : absCeiling(e, true); }  //At or after in view order
+        
+        @Override
+        public E higher(E e) { return descending ? absFloor(e, false) : absCeiling(e, false); } //Next in view order
+        
+        @Override
+        public E first() { //First element in view order
+            E e = descending ? absHighest() : absLowest(); //Seek the near end
+            if (e == null) throw new NoSuchElementException(); //Empty view
+            return e; //First element
+        }
+        
+        @Override
+        public E last() { //Last element in view order
+            E e = descending ? absLowest() : absHighest(); //Seek the far end
+            if (e == null) throw new NoSuchElementException(); //Empty view
+            return e; //Last element
+        }
+        
+        @Override
+        public E pollFirst() { //Remove and return the first element in view order
+            E e = descending ? absHighest() : absLowest(); //Seek the near end
+            if (e != null) delete(e); //Remove through the tree
+            return e; //Removed element or null
+        }
+        
+        @Override
+        public E pollLast() { //Remove and return the last element in view order
+            E e = descending ? absLowest() : absHighest(); //Seek the far end
+            if (e != null) delete(e); //Remove through the tree
+            return e; //Removed element or null
+        }
+        
+        @Override
+        public Comparator<? super E> comparator() { //Natural ordering, reversed for descending views
+            return descending ? Collections.reverseOrder() : null; //null means natural ordering
+        }
+        
+        @Override
+        public NavigableSet<E> descendingSet() { //Same range, opposite direction
+            return new WilnerSubSet(fromStart ? null : lo, loInclusive, toEnd ? null : hi, hiInclusive, !descending); //Reversed view
+        }
+        
+        @Override
+        public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) { //Nested range view
+            if (descending) return bounded(toElement, toInclusive, fromElement, fromInclusive, false, false); //View order is reversed
+            return bounded(fromElement, fromInclusive, toElement, toInclusive, false, false); //Both bounds given
+        }
+        
+        @Override
+        public NavigableSet<E> headSet(E toElement, boolean inclusive) { //Elements before toElement in view order
+            if (descending) return bounded(toElement, inclusive, null, false, false, true); //Becomes a lower bound
+            return bounded(null, false, toElement, inclusive, true, false); //Upper bound
+        }
+        
+        @Override
+        public NavigableSet<E> tailSet(E fromElement, boolean inclusive) { //Elements after fromElement in view order
+            if (descending) return bounded(null, false, fromElement, inclusive, true, false); //Becomes an upper bound
+            return bounded(fromElement, inclusive, null, false, false, true); //Lower bound
+        }
+        
+        private NavigableSet<E> bounded(E newLo, boolean newLoInclusive, E newHi, boolean newHiInclusive, boolean keepLo, boolean keepHi) { //Intersect with new bounds
+            if (!keepLo && !(newLoInclusive ? inRange(newLo) : inClosedRange(newLo))) throw new IllegalArgumentException("fromKey out of range"); //Must nest inside this view
+            if (!keepHi && !(newHiInclusive ? inRange(newHi) : inClosedRange(newHi))) throw new IllegalArgumentException("toKey out of range"); //Must nest inside this view
+            if (!keepLo && !keepHi && newLo.compareTo(newHi) > 0) throw new IllegalArgumentException("fromKey > toKey"); //Inverted range
+            E l = keepLo ? (fromStart ? null : lo) : newLo; //Lower bound of the new view
+            E h = keepHi ? (toEnd ? null : hi) : newHi; //Upper bound of the new view
+            return new WilnerSubSet(l, keepLo ? loInclusive : newLoInclusive, h, keepHi ? hiInclusive : newHiInclusive, descending); //Same direction as this view
+        }
+        
+        @Override
+        public SortedSet<E> subSet(E fromElement, E toElement) { return subSet(fromElement, true, toElement, false); } //[from, to)
+        
+        @Override
+        public SortedSet<E> headSet(E toElement) { return headSet(toElement, false); } //Before toElement
+        
+        @Override
+        public SortedSet<E> tailSet(E fromElement) { return tailSet(fromElement, true); } //From fromElement on
     }
 }
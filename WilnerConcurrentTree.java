@@ -0,0 +1,144 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+public class WilnerConcurrentTree<E extends Comparable<E>> implements WilnerTree<E> { //Thread-safe AVL tree: lock-free reads, CAS-published path-copying writes
+    private static final class Version<E extends Comparable<E>> { //Immutable root plus its size, published atomically
+        final WilnerPersistentNode<E> root; //Root of this version
+        final int size;                     //Number of nodes in this version
+        Version(WilnerPersistentNode<E> root, int size) { this.root = root; this.size = size; } //Constructor sets both
+    }
+
+    private final AtomicReference<Version<E>> current = new AtomicReference<>(new Version<>(null, 0)); //Latest published version
+
+    public WilnerConcurrentTree() {} //No-arg constructor
+
+    public WilnerConcurrentTree(E[] objects) { //Construct from array: one balanced build, published once instead of a CAS per element
+        publishBalanced(Arrays.copyOf(objects, objects.length)); //Never reorder the caller's array
+    }
+
+    @SuppressWarnings("unchecked")
+    public WilnerConcurrentTree(Collection<? extends E> c) { //Construct from a collection with the same balanced build
+        publishBalanced((E[])c.toArray(new Comparable<?>[0])); //toArray already returns a private copy
+    }
+
+    private void publishBalanced(E[] owned) { //Sort and deduplicate owned in place, build a balanced tree over it, publish it
+        int n = WilnerPersistentNode.sortDistinct(owned); //Duplicates collapse as with insert()
+        current.set(new Version<>(WilnerPersistentNode.build(owned, 0, n - 1), n)); //Not yet shared, so a plain set suffices
+    }
+
+    public WilnerTreeSnapshot<E> snapshot() { //O(1) immutable view of the latest version
+        Version<E> v = current.get(); //Root and size from the same version
+        return new WilnerTreeSnapshot<>(v.root, v.size); //Shares every node with the live tree
+    }
+
+    @Override
+    public boolean search(E e) { //Never blocks: reads one immutable version
+        return WilnerPersistentNode.search(current.get().root, e); //Search the latest version
+    }
+
+    @Override
+    public boolean insert(E e) { //Copy the search path, then publish with CAS; retry if another writer won
+        while (true) { //Lock-free retry loop
+            Version<E> v = current.get(); //Version we build on
+            WilnerPersistentNode<E> root = WilnerPersistentNode.insert(v.root, e); //New root sharing untouched subtrees
+            if (root == v.root) return false; //Duplicate: nothing to publish
+            if (current.compareAndSet(v, new Version<>(root, v.size + 1))) return true; //Published
+        }
+    }
+
+    @Override
+    public boolean delete(E e) { //Copy the search path, then publish with CAS; retry if another writer won
+        while (true) { //Lock-free retry loop
+            Version<E> v = current.get(); //Version we build on
+            WilnerPersistentNode<E> root = WilnerPersistentNode.delete(v.root, e); //New root sharing untouched subtrees
+            if (root == v.root) return false; //Not present: nothing to publish
+            if (current.compareAndSet(v, new Version<>(root, v.size - 1))) return true; //Published
+        }
+    }
+
+    @Override
+    public void inorder(Consumer<? super E> action) { WilnerPersistentNode.inorder(current.get().root, action); }     //One consistent version
+
+    @Override
+    public void preorder(Consumer<? super E> action) { WilnerPersistentNode.preorder(current.get().root, action); }   //One consistent version
+
+    @Override
+    public void postorder(Consumer<? super E> action) { WilnerPersistentNode.postorder(current.get().root, action); } //One consistent version
+
+    @Override
+    public int getSize() { //Size of the latest version
+        return current.get().size; //Published together with the root
+    }
+
+    @Override
+    public void clear() { //Publish an empty version
+        current.set(new Version<>(null, 0)); //Readers holding older versions are unaffected
+    }
+
+    @Override
+    public Iterator<E> iterator() { //Weakly consistent: iterates the version current at creation, never throws CME
+        return new Iterator<E>() { //Wraps the immutable iterator to support remove()
+            private final Iterator<E> it = new WilnerPersistentNode.InorderIterator<>(current.get().root); //Fixed version
+            private E lastReturned; //Element returned by the last call to next()
+            private boolean canRemove = false; //True once next() has been called and remove() not yet used
+
+            @Override
+            public boolean hasNext() { return it.hasNext(); } //Delegate
+
+            @Override
+            public E next() { //Delegate and remember the element
+                lastReturned = it.next(); //Next element
+                canRemove = true; //remove() is now allowed
+                return lastReturned; //Return it
+            }
+
+            @Override
+            public void remove() { //Remove from the live tree; this iterator keeps its version
+                if (!canRemove) throw new IllegalStateException(); //next() not called or already removed
+                delete(lastReturned); //Delete from the latest version
+                canRemove = false; //Only one remove per next()
+            }
+        };
+    }
+
+    @Override
+    public List<E> inorderList() { //Build inorder list
+        Version<E> v = current.get(); //Size and root must come from the same version
+        List<E> list = new ArrayList<>(v.size); //Create list sized to the tree
+        WilnerPersistentNode.inorder(v.root, list::add); //Fill list
+        return list; //Return list
+    }
+
+    @Override
+    public List<E> preorderList() { //Build preorder list
+        Version<E> v = current.get(); //Size and root must come from the same version
+        List<E> list = new ArrayList<>(v.size); //Create list sized to the tree
+        WilnerPersistentNode.preorder(v.root, list::add); //Fill list
+        return list; //Return list
+    }
+
+    @Override
+    public List<E> postorderList() { //Build postorder list
+        Version<E> v = current.get(); //Size and root must come from the same version
+        List<E> list = new ArrayList<>(v.size); //Create list sized to the tree
+        WilnerPersistentNode.postorder(v.root, list::add); //Fill list
+        return list; //Return list
+    }
+
+    @Override
+    public Object[] toArray() { //Array of one consistent version (the default would race getSize() against iteration)
+        return inorderList().toArray(); //Sized from the same version
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) { //Array of one consistent version
+        return inorderList().toArray(a); //Sized from the same version
+    }
+
+    @Override
+    public void WilnerOutput(Appendable out) throws IOException { //Size and traversals of one consistent version
+        snapshot().WilnerOutput(out); //O(1) freeze, so concurrent writers cannot mix versions into the dump
+    }
+}
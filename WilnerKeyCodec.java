@@ -0,0 +1,109 @@
+import java.nio.*;
+import java.nio.charset.*;
+
+public interface WilnerKeyCodec<E> { //Binary encoding of one key for WilnerTreeStore files (buffers are little-endian)
+    int id(); //Stored in the file header; loading with a codec of another id is rejected
+
+    void write(E e, ByteBuffer out); //Encode e at out's position; may throw BufferOverflowException, the caller then retries with more room
+
+    E read(ByteBuffer in); //Decode one key written by write()
+
+    default int fixedWidth() { return 0; } //Encoded bytes per key if every key has the same width, else 0; fixed-width codecs get the bulk calls below
+
+    @SuppressWarnings("unchecked")
+    default void writeAll(Object[] keys, int from, int to, ByteBuffer out) { //Encode keys[from, to) back to back; out must have room for all of them
+        for (int i = from; i < to; i++) write((E)keys[i], out); //One call per key unless overridden
+    }
+
+    default void readAll(ByteBuffer in, Object[] keys, int from, int to) { //Decode keys[from, to) written back to back
+        for (int i = from; i < to; i++) keys[i] = read(in); //One call per key unless overridden
+    }
+
+    WilnerKeyCodec<Integer> INT = new WilnerKeyCodec<Integer>() { //4 bytes per key
+        @Override public int id() { return 1; } //Built-in id
+        @Override public void write(Integer e, ByteBuffer out) { out.putInt(e); } //Fixed width
+        @Override public Integer read(ByteBuffer in) { return in.getInt(); } //Fixed width
+        @Override public int fixedWidth() { return 4; } //Every key
+        
+        @Override
+        public void writeAll(Object[] keys, int from, int to, ByteBuffer out) { //Unbox into an int[] chunk, then one bulk put per chunk
+            IntBuffer ints = out.asIntBuffer(); //View in out's byte order, starting at its position
+            int[] chunk = new int[Math.min(to - from, 4096)]; //Primitive staging
+            for (int i = from; i < to; ) { //Chunk by chunk
+                int n = Math.min(chunk.length, to - i); //Keys in this chunk
+                for (int j = 0; j < n; j++) chunk[j] = (Integer)keys[i + j]; //Unbox
+                ints.put(chunk, 0, n); //Bulk copy
+                i += n; //Next chunk
+            }
+            out.position(out.position() + 4 * (to - from)); //The view does not move out
+        }
+        
+        @Override
+        public void readAll(ByteBuffer in, Object[] keys, int from, int to) { //One bulk get per chunk, then box in a tight loop
+            IntBuffer ints = in.asIntBuffer(); //View in in's byte order, starting at its position
+            int[] chunk = new int[Math.min(to - from, 4096)]; //Primitive staging
+            for (int i = from; i < to; ) { //Chunk by chunk
+                int n = Math.min(chunk.length, to - i); //Keys in this chunk
+                ints.get(chunk, 0, n); //Bulk copy (BufferUnderflowException if the payload is short)
+                for (int j = 0; j < n; j++) keys[i + j] = chunk[j]; //Box
+                i += n; //Next chunk
+            }
+            in.position(in.position() + 4 * (to - from)); //The view does not move in
+        }
+    };
+
+    WilnerKeyCodec<Long> LONG = new WilnerKeyCodec<Long>() { //8 bytes per key
+        @Override public int id() { return 2; } //Built-in id
+        @Override public void write(Long e, ByteBuffer out) { out.putLong(e); } //Fixed width
+        @Override public Long read(ByteBuffer in) { return in.getLong(); } //Fixed width
+        @Override public int fixedWidth() { return 8; } //Every key
+        
+        @Override
+        public void writeAll(Object[] keys, int from, int to, ByteBuffer out) { //Unbox into a long[] chunk, then one bulk put per chunk
+            LongBuffer longs = out.asLongBuffer(); //View in out's byte order, starting at its position
+            long[] chunk = new long[Math.min(to - from, 4096)]; //Primitive staging
+            for (int i = from; i < to; ) { //Chunk by chunk
+                int n = Math.min(chunk.length, to - i); //Keys in this chunk
+                for (int j = 0; j < n; j++) chunk[j] = (Long)keys[i + j]; //Unbox
+                longs.put(chunk, 0, n); //Bulk copy
+                i += n; //Next chunk
+            }
+            out.position(out.position() + 8 * (to - from)); //The view does not move out
+        }
+        
+        @Override
+        public void readAll(ByteBuffer in, Object[] keys, int from, int to) { //One bulk get per chunk, then box in a tight loop
+            LongBuffer longs = in.asLongBuffer(); //View in in's byte order, starting at its position
+            long[] chunk = new long[Math.min(to - from, 4096)]; //Primitive staging
+            for (int i = from; i < to; ) { //Chunk by chunk
+                int n = Math.min(chunk.length, to - i); //Keys in this chunk
+                longs.get(chunk, 0, n); //Bulk copy (BufferUnderflowException if the payload is short)
+                for (int j = 0; j < n; j++) keys[i + j] = chunk[j]; //Box
+                i += n; //Next chunk
+            }
+            in.position(in.position() + 8 * (to - from)); //The view does not move in
+        }
+    };
+
+    WilnerKeyCodec<String> STRING = new WilnerKeyCodec<String>() { //4-byte length followed by UTF-8 bytes
+        @Override public int id() { return 3; } //Built-in id
+
+        @Override
+        public void write(String e, ByteBuffer out) { //Length-prefixed UTF-8
+            byte[] bytes = e.getBytes(StandardCharsets.UTF_8); //Encode once
+            if (out.remaining() < 4 + bytes.length) throw new BufferOverflowException(); //Fail before writing anything
+            out.putInt(bytes.length).put(bytes); //Prefix and payload
+        }
+
+        @Override
+        public String read(ByteBuffer in) { //Length-prefixed UTF-8
+            int length = in.getInt(); //Payload bytes
+            if (length < 0 || length > in.remaining()) throw new BufferUnderflowException(); //Corrupt length
+            String s; //Decoded key
+            if (in.hasArray()) s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8); //Heap buffer: no copy
+            else { byte[] bytes = new byte[length]; in.get(in.position(), bytes); s = new String(bytes, StandardCharsets.UTF_8); } //Mapped buffer
+            in.position(in.position() + length); //Consume payload
+            return s; //Result
+        }
+    };
+}
@@ -0,0 +1,40 @@
+import java.util.*;
+
+
+public interface WilnerNavigableTree<E> extends WilnerTree<E>, NavigableSet<E> {
+    //NavigableSet re-declares the Collection methods that WilnerTree already implements as defaults,
+    //so each one is pointed back at the WilnerTree version here once for every sorted implementation.
+    
+    @Override
+    default int size() { return WilnerTree.super.size(); } //Delegate to getSize()
+    
+    @Override
+    default boolean isEmpty() { return WilnerTree.super.isEmpty(); } //Empty if size is zero
+    
+    @Override
+    default boolean contains(Object o) { return WilnerTree.super.contains(o); } //Delegate to search
+    
+    @Override
+    default Object[] toArray() { return WilnerTree.super.toArray(); } //Inorder array
+    
+    @Override
+    default <T> T[] toArray(T[] a) { return WilnerTree.super.toArray(a); } //Inorder array of a's type
+    
+    @Override
+    default boolean add(E e) { return WilnerTree.super.add(e); } //Delegate to insert
+    
+    @Override
+    default boolean remove(Object o) { return WilnerTree.super.remove(o); } //Delegate to delete
+    
+    @Override
+    default boolean containsAll(Collection<?> c) { return WilnerTree.super.containsAll(c); } //Search each element
+    
+    @Override
+    default boolean addAll(Collection<? extends E> c) { return WilnerTree.super.addAll(c); } //Insert each element
+    
+    @Override
+    default boolean removeAll(Collection<?> c) { return WilnerTree.super.removeAll(c); } //Delete each element
+    
+    @Override
+    default boolean retainAll(Collection<?> c) { return WilnerTree.super.retainAll(c); } //Delete elements not in c
+}
@@ -0,0 +1,107 @@
+import java.util.*;
+import java.util.function.*;
+
+public class WilnerPersistentAVLTree<E extends Comparable<E>> implements WilnerTree<E> { //AVL tree whose updates copy only the search path
+    private WilnerPersistentNode<E> root; //Root of the current version
+    private int size = 0;                 //Number of nodes in the current version
+
+    public WilnerPersistentAVLTree() {} //No-arg constructor
+
+    public WilnerPersistentAVLTree(E[] objects) { //Construct from array with a balanced linear-time build instead of one path copy per element
+        E[] sorted = Arrays.copyOf(objects, objects.length); //Never reorder the caller's array
+        size = WilnerPersistentNode.sortDistinct(sorted); //Duplicates collapse as with insert()
+        root = WilnerPersistentNode.build(sorted, 0, size - 1); //One node per element
+    }
+
+    public WilnerTreeSnapshot<E> snapshot() { //O(1) immutable view sharing structure with this tree
+        return new WilnerTreeSnapshot<>(root, size); //Later updates build new paths and never touch these nodes
+    }
+
+    @Override
+    public boolean search(E e) { //Search the current version
+        return WilnerPersistentNode.search(root, e); //Plain descent
+    }
+
+    @Override
+    public boolean insert(E e) { //Copy the O(log n) path to the new leaf
+        WilnerPersistentNode<E> updated = WilnerPersistentNode.insert(root, e); //New root sharing untouched subtrees
+        if (updated == root) return false; //Duplicate: nothing changed
+        root = updated; //Switch to the new version
+        size++; //Increment size
+        return true; //Inserted
+    }
+
+    @Override
+    public boolean delete(E e) { //Copy the O(log n) path to the removed node
+        WilnerPersistentNode<E> updated = WilnerPersistentNode.delete(root, e); //New root sharing untouched subtrees
+        if (updated == root) return false; //Not present: nothing changed
+        root = updated; //Switch to the new version
+        size--; //Decrement size
+        return true; //Deleted
+    }
+
+    @Override
+    public void inorder(Consumer<? super E> action) { WilnerPersistentNode.inorder(root, action); }     //Iterative inorder
+
+    @Override
+    public void preorder(Consumer<? super E> action) { WilnerPersistentNode.preorder(root, action); }   //Iterative preorder
+
+    @Override
+    public void postorder(Consumer<? super E> action) { WilnerPersistentNode.postorder(root, action); } //Iterative postorder
+
+    @Override
+    public int getSize() { return size; } //Return size
+
+    @Override
+    public void clear() { //Start a new empty version; snapshots keep theirs
+        root = null; //Drop reference to root
+        size = 0;    //Reset size
+    }
+
+    @Override
+    public Iterator<E> iterator() { //Iterates the version current at creation, so updates never invalidate it
+        return new Iterator<E>() { //Wraps the immutable iterator to support remove()
+            private final Iterator<E> it = new WilnerPersistentNode.InorderIterator<>(root); //Fixed version
+            private E lastReturned; //Element returned by the last call to next()
+            private boolean canRemove = false; //True once next() has been called and remove() not yet used
+
+            @Override
+            public boolean hasNext() { return it.hasNext(); } //Delegate
+
+            @Override
+            public E next() { //Delegate and remember the element
+                lastReturned = it.next(); //Next element
+                canRemove = true; //remove() is now allowed
+                return lastReturned; //Return it
+            }
+
+            @Override
+            public void remove() { //Remove from the current version; this iterator keeps its own
+                if (!canRemove) throw new IllegalStateException(); //next() not called or already removed
+                delete(lastReturned); //Delete from the tree
+                canRemove = false; //Only one remove per next()
+            }
+        };
+    }
+
+    @Override
+    public List<E> inorderList() { //Build inorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        inorder(list::add); //Fill list
+        return list; //Return list
+    }
+
+    @Override
+    public List<E> preorderList() { //Build preorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        preorder(list::add); //Fill list
+        return list; //Return list
+    }
+
+    @Override
+    public List<E> postorderList() { //Build postorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the tree
+        postorder(list::add); //Fill list
+        return list; //Return list
+    }
+}
@@ -0,0 +1,149 @@
+import java.util.*;
+import java.util.function.*;
+
+final class WilnerPersistentNode<E extends Comparable<E>> { //Immutable AVL node; updates copy the search path and share the rest
+    final E element;                     //Stored element
+    final WilnerPersistentNode<E> left;  //Left child reference
+    final WilnerPersistentNode<E> right; //Right child reference
+    final int height;                    //Height of node (leaf height = 1)
+
+    WilnerPersistentNode(E element, WilnerPersistentNode<E> left, WilnerPersistentNode<E> right) { //Height derived from children
+        this.element = element; //Set the element
+        this.left = left;       //Set left child
+        this.right = right;     //Set right child
+        this.height = Math.max(height(left), height(right)) + 1; //1 + max child height
+    }
+
+    static int height(WilnerPersistentNode<?> n) { //Height of node or 0 if null
+        return n == null ? 0 : n.height; //Null height = 0
+    }
+
+    static <E extends Comparable<E>> int sortDistinct(E[] a) { //Sort a in place and compact its distinct elements to the front; returns their count
+        Arrays.parallelSort(a); //Sort on the common fork-join pool
+        int n = a.length == 0 ? 0 : 1; //First element is always kept
+        for (int i = 1; i < a.length; i++) if (a[i].compareTo(a[n - 1]) != 0) a[n++] = a[i]; //Keep first of each run
+        return n; //Distinct elements now occupy [0, n)
+    }
+
+    static <E extends Comparable<E>> WilnerPersistentNode<E> build(E[] sorted, int lo, int hi) { //Balanced subtree over sorted[lo..hi] in linear time
+        if (lo > hi) return null; //Empty range
+        int mid = (lo + hi) >>> 1; //Middle element becomes the subtree root
+        return new WilnerPersistentNode<>(sorted[mid], build(sorted, lo, mid - 1), build(sorted, mid + 1, hi)); //Immutable, so children first
+    }
+
+    static <E extends Comparable<E>> boolean search(WilnerPersistentNode<E> node, E e) { //Search from node downward
+        while (node != null) { //Traverse until null
+            int cmp = e.compareTo(node.element); //Compare target with current
+            if (cmp < 0) node = node.left;       //Go left if smaller
+            else if (cmp > 0) node = node.right; //Go right if larger
+            else return true; //Found equal element
+        }
+        return false; //Not found
+    }
+
+    static <E extends Comparable<E>> WilnerPersistentNode<E> insert(WilnerPersistentNode<E> node, E e) { //New root with e added; same root if e was present
+        if (node == null) return new WilnerPersistentNode<>(e, null, null); //New leaf
+        int cmp = e.compareTo(node.element); //Compare values
+        if (cmp == 0) return node; //Duplicate: share the whole subtree
+        if (cmp < 0) { //Insert left
+            WilnerPersistentNode<E> l = insert(node.left, e); //Copy of the left path
+            return l == node.left ? node : balance(node.element, l, node.right); //Unchanged or rebuilt
+        }
+        WilnerPersistentNode<E> r = insert(node.right, e); //Copy of the right path
+        return r == node.right ? node : balance(node.element, node.left, r); //Unchanged or rebuilt
+    }
+
+    static <E extends Comparable<E>> WilnerPersistentNode<E> delete(WilnerPersistentNode<E> node, E e) { //New root with e removed; same root if e was absent
+        if (node == null) return null; //Not found
+        int cmp = e.compareTo(node.element); //Compare target
+        if (cmp < 0) { //Delete on the left
+            WilnerPersistentNode<E> l = delete(node.left, e); //Copy of the left path
+            return l == node.left ? node : balance(node.element, l, node.right); //Unchanged or rebuilt
+        }
+        if (cmp > 0) { //Delete on the right
+            WilnerPersistentNode<E> r = delete(node.right, e); //Copy of the right path
+            return r == node.right ? node : balance(node.element, node.left, r); //Unchanged or rebuilt
+        }
+        if (node.left == null) return node.right;  //Replace by right child
+        if (node.right == null) return node.left;  //Replace by left child
+        WilnerPersistentNode<E> succ = node.right; //Inorder successor is leftmost in right subtree
+        while (succ.left != null) succ = succ.left; //Move left until null
+        return balance(succ.element, node.left, deleteMin(node.right)); //Successor takes this node's place
+    }
+
+    private static <E extends Comparable<E>> WilnerPersistentNode<E> deleteMin(WilnerPersistentNode<E> node) { //Copy of node without its smallest element
+        if (node.left == null) return node.right; //Leftmost node removed
+        return balance(node.element, deleteMin(node.left), node.right); //Rebuild path
+    }
+
+    static <E extends Comparable<E>> WilnerPersistentNode<E> balance(E e, WilnerPersistentNode<E> l, WilnerPersistentNode<E> r) { //New node for e over l and r, rotated if needed
+        int hl = height(l), hr = height(r); //Child heights
+        if (hl > hr + 1) { //Left heavy
+            if (height(l.left) >= height(l.right)) //Left-Left case: single right rotation
+                return new WilnerPersistentNode<>(l.element, l.left, new WilnerPersistentNode<>(e, l.right, r));
+            WilnerPersistentNode<E> lr = l.right; //Left-Right case: double rotation
+            return new WilnerPersistentNode<>(lr.element, new WilnerPersistentNode<>(l.element, l.left, lr.left), new WilnerPersistentNode<>(e, lr.right, r));
+        }
+        if (hr > hl + 1) { //Right heavy
+            if (height(r.right) >= height(r.left)) //Right-Right case: single left rotation
+                return new WilnerPersistentNode<>(r.element, new WilnerPersistentNode<>(e, l, r.left), r.right);
+            WilnerPersistentNode<E> rl = r.left; //Right-Left case: double rotation
+            return new WilnerPersistentNode<>(rl.element, new WilnerPersistentNode<>(e, l, rl.left), new WilnerPersistentNode<>(r.element, rl.right, r.right));
+        }
+        return new WilnerPersistentNode<>(e, l, r); //Already balanced
+    }
+
+    static <E extends Comparable<E>> void inorder(WilnerPersistentNode<E> node, Consumer<? super E> action) { //Iterative inorder from node
+        ArrayDeque<WilnerPersistentNode<E>> stack = new ArrayDeque<>(); //Ancestors whose element is still pending
+        while (node != null || !stack.isEmpty()) { //Until every node is visited
+            while (node != null) { stack.push(node); node = node.left; } //Push left spine
+            node = stack.pop(); //Leftmost unvisited node
+            action.accept(node.element); //Visit node
+            node = node.right; //Continue with right subtree
+        }
+    }
+
+    static <E extends Comparable<E>> void preorder(WilnerPersistentNode<E> node, Consumer<? super E> action) { //Iterative preorder from node
+        if (node == null) return; //Nothing to visit
+        ArrayDeque<WilnerPersistentNode<E>> stack = new ArrayDeque<>(); //Subtrees still to visit
+        stack.push(node); //Start at node
+        while (!stack.isEmpty()) { //Until every node is visited
+            WilnerPersistentNode<E> n = stack.pop(); //Next subtree root
+            action.accept(n.element); //Visit node
+            if (n.right != null) stack.push(n.right); //Right pushed first so left is visited first
+            if (n.left != null) stack.push(n.left);   //Left on top
+        }
+    }
+
+    static <E extends Comparable<E>> void postorder(WilnerPersistentNode<E> node, Consumer<? super E> action) { //Iterative postorder from node
+        ArrayDeque<WilnerPersistentNode<E>> stack = new ArrayDeque<>(); //Ancestors whose element is still pending
+        WilnerPersistentNode<E> lastVisited = null; //Last node handed to action
+        while (node != null || !stack.isEmpty()) { //Until every node is visited
+            while (node != null) { stack.push(node); node = node.left; } //Push left spine
+            WilnerPersistentNode<E> top = stack.peek(); //Deepest pending ancestor
+            if (top.right != null && top.right != lastVisited) node = top.right; //Right subtree not done yet
+            else { action.accept(top.element); lastVisited = stack.pop(); } //Both subtrees done: visit
+        }
+    }
+
+    static final class InorderIterator<E extends Comparable<E>> implements Iterator<E> { //Lazy inorder iterator over one immutable version
+        private final ArrayDeque<WilnerPersistentNode<E>> stack = new ArrayDeque<>(); //Pending ancestors, next node on top
+
+        InorderIterator(WilnerPersistentNode<E> root) { pushLeft(root); } //Start at the leftmost node
+
+        private void pushLeft(WilnerPersistentNode<E> node) { //Push node and its left spine
+            while (node != null) { stack.push(node); node = node.left; } //Walk down the left edge
+        }
+
+        @Override
+        public boolean hasNext() { return !stack.isEmpty(); } //Top of stack is the next node
+
+        @Override
+        public E next() { //Return the next element in inorder
+            if (stack.isEmpty()) throw new NoSuchElementException(); //Exhausted
+            WilnerPersistentNode<E> node = stack.pop(); //Next node in order
+            pushLeft(node.right); //Its successors are the right subtree's left spine
+            return node.element; //Return the element
+        }
+    }
+}
@@ -1,4 +1,6 @@
+import java.io.*;
 import java.util.*;
+import java.util.function.*;
 
 
 public interface WilnerTree<E> extends Collection<E> {
@@ -8,11 +10,13 @@ public interface WilnerTree<E> extends Collection<E> {
     
     public boolean delete(E e); //Delete an element and return true if removed
     
-    public void inorder(); //Print elements in inorder traversal
+    default void inorder() { WilnerTreePrinter.stdout(this::inorder); }     //Print elements in inorder traversal
     
-    public void postorder(); //Print elements in postorder traversal
+    default void postorder() { WilnerTreePrinter.stdout(this::postorder); } //Print elements in postorder traversal
     
-    public void preorder(); //Print elements in preorder traversal
+    default void preorder() { WilnerTreePrinter.stdout(this::preorder); }   //Print elements in preorder traversal
+    
+    default void WilnerOutput() { WilnerTreePrinter.stdout(this::WilnerOutput); } //Print size and traversals in the specified format
     
     public int getSize(); //Return the number of nodes in the tree
     
@@ -26,6 +30,45 @@ public interface WilnerTree<E> extends Collection<E> {
     
     public List<E> postorderList(); //Return elements as a List in postorder
     
+    default void inorder(Consumer<? super E> action) { //Feed elements to action in inorder without building a List
+        for (E e : this) action.accept(e); //Iterator is inorder
+    }
+    
+    default void preorder(Consumer<? super E> action) { //Feed elements to action in preorder
+        for (E e : preorderList()) action.accept(e); //Fallback through the list form
+    }
+    
+    default void postorder(Consumer<? super E> action) { //Feed elements to action in postorder
+        for (E e : postorderList()) action.accept(e); //Fallback through the list form
+    }
+    
+    default void inorder(Appendable out) throws IOException { //Write "e1 e2 ... " and a line break to out, no intermediate List
+        WilnerTreePrinter p = new WilnerTreePrinter(out); //Fixed 8K char buffer
+        p.line(c -> inorder(c)); //Elements formatted straight into the buffer
+        p.flush(); //Hand over the rest
+    }
+    
+    default void preorder(Appendable out) throws IOException { //Write preorder elements and a line break to out
+        WilnerTreePrinter p = new WilnerTreePrinter(out); //Fixed 8K char buffer
+        p.line(c -> preorder(c)); //Elements formatted straight into the buffer
+        p.flush(); //Hand over the rest
+    }
+    
+    default void postorder(Appendable out) throws IOException { //Write postorder elements and a line break to out
+        WilnerTreePrinter p = new WilnerTreePrinter(out); //Fixed 8K char buffer
+        p.line(c -> postorder(c)); //Elements formatted straight into the buffer
+        p.flush(); //Hand over the rest
+    }
+    
+    default void WilnerOutput(Appendable out) throws IOException { //Size and all three traversals through one bounded buffer
+        WilnerTreePrinter p = new WilnerTreePrinter(out); //Memory use is independent of tree size
+        p.text("Number of nodes: "); p.number(getSize()); p.line(c -> {}); //Size line
+        p.text("Inorder: "); p.line(c -> inorder(c));     //Inorder on one line
+        p.text("Preorder: "); p.line(c -> preorder(c));   //Preorder on one line
+        p.text("Postorder: "); p.line(c -> postorder(c)); //Postorder on one line
+        p.flush(); //Hand over the rest
+    }
+    
     @Override
     default int size() {    //Provide Collection.Size() using getSize()
         return getSize();   //Delegate to tree's size
@@ -0,0 +1,138 @@
+import java.util.*;
+import jdk.jfr.*;
+
+public class WilnerTreeMetrics { //Opt-in counters for tree hot paths; attach with setMetrics(), poll with metricsSnapshot()
+    public enum Operation { SEARCH, INSERT, DELETE } //Instrumented operations
+    public enum Rotation { LL, LR, RR, RL }          //AVL rebalance cases (LL = single right rotation, etc.)
+
+    private final boolean emitJfrEvents; //Commit a JFR event per operation (still subject to JFR's own enablement)
+    private final long[] operations = new long[Operation.values().length];  //Operations recorded, by kind
+    private final long[] comparisons = new long[Operation.values().length]; //compareTo calls, by kind
+    private final long[] pathTotal = new long[Operation.values().length];   //Sum of path lengths, by kind
+    private final int[] maxPath = new int[Operation.values().length];       //Longest path seen, by kind
+    private final long[] rotations = new long[Rotation.values().length];    //Rotations, by case
+    private int pendingRotations = 0; //Rotations done by the operation currently in progress
+
+    public WilnerTreeMetrics() { this(true); } //Counters plus JFR events
+
+    public WilnerTreeMetrics(boolean emitJfrEvents) { //Counters only if emitJfrEvents is false
+        this.emitJfrEvents = emitJfrEvents; //Remember mode
+    }
+
+    void record(Operation op, int compareCount, int pathLength) { //Called once per finished operation
+        int i = op.ordinal(); //Index for this kind
+        operations[i]++; //Count operation
+        comparisons[i] += compareCount; //Accumulate comparisons
+        pathTotal[i] += pathLength; //Accumulate path length
+        if (pathLength > maxPath[i]) maxPath[i] = pathLength; //Track worst case
+        if (emitJfrEvents) { //Only allocate events when asked to
+            OperationEvent event = new OperationEvent(); //Short-lived, usually scalar-replaced
+            if (event.shouldCommit()) { //Recording active and event enabled
+                event.operation = op.name(); //Kind
+                event.comparisons = compareCount; //compareTo calls
+                event.pathLength = pathLength; //Nodes visited
+                event.rotations = pendingRotations; //Rebalancing work
+                event.commit(); //Write to the recording
+            }
+        }
+        pendingRotations = 0; //Next operation starts fresh
+    }
+
+    void rotation(Rotation kind) { //Called from the AVL rebalance step
+        rotations[kind.ordinal()]++; //Count by case
+        pendingRotations++; //Attribute to the current operation
+    }
+
+    public void reset() { //Zero every counter
+        Arrays.fill(operations, 0); //Operations
+        Arrays.fill(comparisons, 0); //Comparisons
+        Arrays.fill(pathTotal, 0); //Path lengths
+        Arrays.fill(maxPath, 0); //Worst cases
+        Arrays.fill(rotations, 0); //Rotations
+        pendingRotations = 0; //In-progress work
+    }
+
+    Snapshot snapshot(String treeType, int size, long[] depthHistogram) { //Freeze counters together with the tree shape
+        Snapshot s = new Snapshot(size, depthHistogram.length, depthHistogram, operations.clone(), comparisons.clone(), pathTotal.clone(), maxPath.clone(), rotations.clone()); //Copy everything
+        if (emitJfrEvents) { //Shape is only computed on poll, so emit it here
+            ShapeEvent event = new ShapeEvent(); //One per poll
+            if (event.shouldCommit()) { //Recording active and event enabled
+                event.treeType = treeType; //Implementation name
+                event.size = size; //Number of nodes
+                event.height = s.height(); //Tree height
+                event.averageDepth = s.averageDepth(); //Mean node depth
+                event.commit(); //Write to the recording
+            }
+        }
+        return s; //Pollable copy
+    }
+
+    public static final class Snapshot { //Immutable view of the counters and the tree shape at one point in time
+        private final int size, height;  //Nodes and height (levels) of the tree
+        private final long[] depthHistogram; //[d] = nodes at depth d, root at depth 0
+        private final long[] operations, comparisons, pathTotal, rotations; //Counter copies
+        private final int[] maxPath; //Worst path per operation
+
+        private Snapshot(int size, int height, long[] depthHistogram, long[] operations, long[] comparisons, long[] pathTotal, int[] maxPath, long[] rotations) { //Takes ownership of the arrays
+            this.size = size; this.height = height; this.depthHistogram = depthHistogram; //Shape
+            this.operations = operations; this.comparisons = comparisons; this.pathTotal = pathTotal; //Per-operation totals
+            this.maxPath = maxPath; this.rotations = rotations; //Worst paths and rotations
+        }
+
+        public int size() { return size; } //Number of nodes
+        public int height() { return height; } //Number of levels, 0 if empty
+        public long[] depthHistogram() { return depthHistogram.clone(); } //Nodes per depth
+        public long operations(Operation op) { return operations[op.ordinal()]; } //Operations of this kind
+        public long comparisons(Operation op) { return comparisons[op.ordinal()]; } //compareTo calls for this kind
+        public int maxPathLength(Operation op) { return maxPath[op.ordinal()]; } //Longest path for this kind
+        public long rotations(Rotation kind) { return rotations[kind.ordinal()]; } //Rotations of this case
+
+        public double averageComparisons(Operation op) { //compareTo calls per operation
+            long n = operations[op.ordinal()]; //Operations of this kind
+            return n == 0 ? 0 : (double)comparisons[op.ordinal()] / n; //Mean
+        }
+
+        public double averagePathLength(Operation op) { //Nodes visited per operation
+            long n = operations[op.ordinal()]; //Operations of this kind
+            return n == 0 ? 0 : (double)pathTotal[op.ordinal()] / n; //Mean
+        }
+
+        public double averageDepth() { //Mean depth of a node; log2(size) when balanced, ~size/2 when degenerate
+            long weighted = 0; //Sum of depth * count
+            for (int d = 0; d < depthHistogram.length; d++) weighted += d * depthHistogram[d]; //Weight each level
+            return size == 0 ? 0 : (double)weighted / size; //Mean
+        }
+
+        @Override
+        public String toString() { //One-line summary for logs
+            StringBuilder sb = new StringBuilder(); //Builder
+            sb.append("size=").append(size).append(" height=").append(height).append(String.format(" avgDepth=%.2f", averageDepth())); //Shape
+            for (Operation op : Operation.values()) //Per-operation counters
+                sb.append(' ').append(op).append(String.format("[n=%d cmp=%.2f path=%.2f max=%d]", operations(op), averageComparisons(op), averagePathLength(op), maxPathLength(op)));
+            sb.append(" rotations").append(Arrays.toString(rotations)); //LL, LR, RR, RL
+            return sb.toString(); //Result
+        }
+    }
+
+    @Name("wilner.TreeOperation")
+    @Label("Tree Operation")
+    @Category({"Wilner", "Trees"})
+    @Description("One instrumented search, insert or delete")
+    static final class OperationEvent extends Event { //Per-operation JFR event
+        @Label("Operation") String operation; //SEARCH, INSERT or DELETE
+        @Label("Comparisons") int comparisons; //compareTo calls
+        @Label("Path Length") int pathLength;  //Nodes visited
+        @Label("Rotations") int rotations;     //AVL rotations performed
+    }
+
+    @Name("wilner.TreeShape")
+    @Label("Tree Shape")
+    @Category({"Wilner", "Trees"})
+    @Description("Tree size and height, emitted when a metrics snapshot is taken")
+    static final class ShapeEvent extends Event { //Per-poll JFR event
+        @Label("Tree Type") String treeType; //Implementation class
+        @Label("Size") int size;             //Number of nodes
+        @Label("Height") int height;         //Number of levels
+        @Label("Average Depth") double averageDepth; //Mean node depth
+    }
+}
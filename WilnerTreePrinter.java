@@ -0,0 +1,82 @@
+import java.io.*;
+import java.nio.*;
+import java.util.function.*;
+
+final class WilnerTreePrinter implements Consumer<Object>, IntConsumer, LongConsumer { //Formats traversal output into a fixed char buffer and hands it to an Appendable in chunks
+    interface Dump { void to(Appendable out) throws IOException; } //A traversal writer, e.g. tree::inorder
+
+    private static final String NEWLINE = System.lineSeparator(); //Same line ending as println
+    private final Appendable out; //Destination
+    private final char[] buf = new char[8192]; //Bounded, whatever the tree size
+    private int n = 0; //Chars pending in buf
+
+    WilnerTreePrinter(Appendable out) { this.out = out; } //Wrap a destination
+
+    static void stdout(Dump dump) { //Run a dump against System.out (PrintStream never throws IOException)
+        try { dump.to(System.out); } //One print call per chunk instead of one per element
+        catch (IOException ex) { throw new UncheckedIOException(ex); } //Unreachable for System.out
+    }
+
+    void line(Consumer<WilnerTreePrinter> traversal) throws IOException { //Run traversal(this), end the line, pass on IOExceptions
+        try { traversal.accept(this); } //Elements arrive through accept()
+        catch (UncheckedIOException ex) { throw ex.getCause(); } //Tunnelled out of the consumer
+        text(NEWLINE); //Like println
+    }
+
+    @Override
+    public void accept(Object e) { //Element followed by a space
+        if (e instanceof Integer) number((Integer)e); //Boxed ints are formatted without a String
+        else if (e instanceof Long) number((Long)e); //Boxed longs too
+        else textUnchecked(String.valueOf(e)); //Anything else uses toString
+        put(' '); //Separator, as in the original output
+    }
+
+    @Override
+    public void accept(int e) { number(e); put(' '); } //Primitive int trees
+
+    @Override
+    public void accept(long e) { number(e); put(' '); } //Primitive long trees
+
+    void text(String s) throws IOException { //Literal text
+        try { textUnchecked(s); } //Shared with accept()
+        catch (UncheckedIOException ex) { throw ex.getCause(); } //Checked for callers
+    }
+
+    void number(long v) { //Decimal digits straight into the buffer
+        if (v == Long.MIN_VALUE) { textUnchecked("-9223372036854775808"); return; } //Cannot be negated
+        if (v < 0) { put('-'); v = -v; } //Sign
+        if (buf.length - n < 19) drain(); //Room for the longest number
+        int start = n; //Digits are produced least significant first
+        do { buf[n++] = (char)('0' + v % 10); v /= 10; } while (v != 0); //Convert
+        for (int i = start, j = n - 1; i < j; i++, j--) { char c = buf[i]; buf[i] = buf[j]; buf[j] = c; } //Reverse in place
+    }
+
+    void flush() throws IOException { //Hand everything pending to out
+        try { drain(); } //Write the chunk
+        catch (UncheckedIOException ex) { throw ex.getCause(); } //Checked for callers
+        if (out instanceof Flushable) ((Flushable)out).flush(); //Let buffered destinations pass it on
+    }
+
+    private void textUnchecked(String s) { //Copy s in buffer-sized pieces
+        for (int i = 0; i < s.length(); ) { //Strings may be longer than the buffer
+            if (n == buf.length) drain(); //Full
+            int k = Math.min(s.length() - i, buf.length - n); //Chars that fit
+            s.getChars(i, i + k, buf, n); //Bulk copy
+            n += k; i += k; //Advance
+        }
+    }
+
+    private void put(char c) { //Append one char
+        if (n == buf.length) drain(); //Full
+        buf[n++] = c; //Append
+    }
+
+    private void drain() { //Write the pending chunk to out
+        try { //Fast paths avoid copying the chunk into a String
+            if (out instanceof Writer) ((Writer)out).write(buf, 0, n); //Writers take the array directly
+            else if (out instanceof StringBuilder) ((StringBuilder)out).append(buf, 0, n); //So do StringBuilders
+            else out.append(CharBuffer.wrap(buf, 0, n)); //Anything else: one call per chunk
+        } catch (IOException ex) { throw new UncheckedIOException(ex); } //Tunnel through the consumer interfaces
+        n = 0; //Empty
+    }
+}
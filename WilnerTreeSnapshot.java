@@ -0,0 +1,60 @@
+import java.util.*;
+import java.util.function.*;
+
+public final class WilnerTreeSnapshot<E extends Comparable<E>> implements WilnerTree<E> { //Immutable view of one tree version; safe to read from any thread
+    private final WilnerPersistentNode<E> root; //Root of the frozen version (shared with the live tree)
+    private final int size;                     //Number of nodes in the frozen version
+
+    WilnerTreeSnapshot(WilnerPersistentNode<E> root, int size) { //Created by the trees in O(1)
+        this.root = root; //Final fields make the snapshot safely published
+        this.size = size; //Size at snapshot time
+    }
+
+    @Override
+    public boolean search(E e) { return WilnerPersistentNode.search(root, e); } //Search the frozen version
+
+    @Override
+    public boolean insert(E e) { throw new UnsupportedOperationException("snapshot is read-only"); } //Immutable
+
+    @Override
+    public boolean delete(E e) { throw new UnsupportedOperationException("snapshot is read-only"); } //Immutable
+
+    @Override
+    public void clear() { throw new UnsupportedOperationException("snapshot is read-only"); } //Immutable
+
+    @Override
+    public void inorder(Consumer<? super E> action) { WilnerPersistentNode.inorder(root, action); }     //Iterative inorder
+
+    @Override
+    public void preorder(Consumer<? super E> action) { WilnerPersistentNode.preorder(root, action); }   //Iterative preorder
+
+    @Override
+    public void postorder(Consumer<? super E> action) { WilnerPersistentNode.postorder(root, action); } //Iterative postorder
+
+    @Override
+    public int getSize() { return size; } //Size at snapshot time
+
+    @Override
+    public Iterator<E> iterator() { return new WilnerPersistentNode.InorderIterator<>(root); } //remove() is unsupported
+
+    @Override
+    public List<E> inorderList() { //Build inorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the snapshot
+        inorder(list::add); //Fill list
+        return list; //Return list
+    }
+
+    @Override
+    public List<E> preorderList() { //Build preorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the snapshot
+        preorder(list::add); //Fill list
+        return list; //Return list
+    }
+
+    @Override
+    public List<E> postorderList() { //Build postorder list
+        List<E> list = new ArrayList<>(size); //Create list sized to the snapshot
+        postorder(list::add); //Fill list
+        return list; //Return list
+    }
+}
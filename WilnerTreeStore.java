@@ -0,0 +1,129 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+final class WilnerTreeStore { //Versioned, checksummed snapshot files: header followed by the keys in ascending order
+    static final int MAGIC = 0x45525457; //"WTRE" when read little-endian
+    static final short VERSION = 1;      //Format version written by this class
+    static final int HEADER_BYTES = 32;  //magic, version, flags, codec id, count, max key bytes, payload bytes, CRC32
+    private static final int WRITE_BUFFER = 1 << 20; //Bytes encoded per channel write
+    private static final long MAP_WINDOW = 1L << 30; //Bytes mapped at a time while loading
+
+    private WilnerTreeStore() {} //Static helpers only
+
+    static <E extends Comparable<E>> void save(WilnerTree<E> tree, Path file, WilnerKeyCodec<? super E> codec) throws IOException { //Write to a temporary file, then atomically replace file
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp"); //Readers never see a half-written snapshot
+        try {
+            write(tree, tmp, codec); //Complete and durable before it is published
+            try { Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE); } //Publish
+            catch (AtomicMoveNotSupportedException ex) { Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING); } //File system without atomic rename
+        } catch (IOException | RuntimeException | Error ex) { //Disk, codec or encoding failure: do not leave a stray temporary file behind
+            try { Files.deleteIfExists(tmp); } //Best effort
+            catch (IOException cleanup) { ex.addSuppressed(cleanup); } //Reported with the original failure
+            throw ex; //Original failure
+        }
+    }
+
+    private static <E extends Comparable<E>> void write(WilnerTree<E> tree, Path tmp, WilnerKeyCodec<? super E> codec) throws IOException { //Header plus ascending keys into tmp, forced to disk
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) { //Fresh file
+            ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN); //Encode buffer
+            CRC32 crc = new CRC32(); //Checksum of the payload
+            long payload = 0; //Payload bytes written
+            int count = 0, maxKey = 0; //Keys written, widest encoded key
+            ch.position(HEADER_BYTES); //Header is written last, once the totals are known
+            int width = codec.fixedWidth(); //Bytes per key, 0 if keys vary
+            if (width > 0) { //Fixed width: hand the codec a buffer-sized chunk of keys at a time
+                Object[] chunk = new Object[buf.capacity() / width]; //Exactly one buffer of keys
+                int n = 0; //Keys in chunk
+                for (E e : tree) { //Ascending order, so load can build without sorting
+                    chunk[n++] = e; //Stage
+                    if (n < chunk.length) continue; //Chunk not full yet
+                    codec.writeAll(chunk, 0, n, buf); //Fills the buffer
+                    payload += flush(ch, buf, crc); //Write it
+                    count += n; n = 0; //Next chunk
+                }
+                codec.writeAll(chunk, 0, n, buf); //Last partial chunk
+                count += n; //Total
+                maxKey = count == 0 ? 0 : width; //Same width for every key
+            } else for (E e : tree) { //Ascending order, so load can build without sorting
+                int start = buf.position(); //Undo point if the key does not fit
+                try { codec.write(e, buf); } //Fast path: room in the buffer
+                catch (BufferOverflowException ex) { //Flush and retry
+                    buf.position(start); //Drop the partial key
+                    payload += flush(ch, buf, crc); //Empty the buffer
+                    while (true) { //Retry, growing the buffer for keys larger than it
+                        try { codec.write(e, buf); break; } //Fits now
+                        catch (BufferOverflowException big) { buf = ByteBuffer.allocateDirect(buf.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN); } //Oversized key
+                    }
+                    start = 0; //Key now starts the buffer
+                }
+                maxKey = Math.max(maxKey, buf.position() - start); //Track widest key for the loader's window
+                count++; //One more key
+            }
+            payload += flush(ch, buf, crc); //Rest of the payload
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN); //Fixed header
+            header.putInt(MAGIC).putShort(VERSION).putShort((short)0).putInt(codec.id()).putInt(count) //Identity and totals
+                  .putInt(maxKey).putLong(payload).putInt((int)crc.getValue()).flip(); //Sizes and checksum
+            while (header.hasRemaining()) ch.write(header, header.position()); //Positional write at offset 0
+            ch.force(false); //Durable before it replaces the old snapshot
+        }
+    }
+
+    private static long flush(FileChannel ch, ByteBuffer buf, CRC32 crc) throws IOException { //Write buf's contents, return bytes written
+        buf.flip(); //Switch to draining
+        crc.update(buf.duplicate()); //Checksum what is about to be written
+        long written = buf.remaining(); //Bytes in this chunk
+        while (buf.hasRemaining()) ch.write(buf); //Channel may write partially
+        buf.clear(); //Ready for more keys
+        return written; //Chunk size
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E extends Comparable<E>> E[] load(Path file, WilnerKeyCodec<? extends E> codec) throws IOException { //Read and verify a snapshot, returning its keys in ascending order
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) { //Read-only
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN); //Fixed header
+            while (header.hasRemaining()) if (ch.read(header, header.position()) < 0) throw new EOFException("truncated header in " + file); //Short file
+            header.flip(); //Read back
+            if (header.getInt() != MAGIC) throw new IOException("not a tree snapshot: " + file); //Wrong file type
+            short version = header.getShort(); //Format version
+            if (version != VERSION) throw new IOException("unsupported snapshot version " + version + " in " + file); //Newer writer
+            header.getShort(); //Flags, none defined yet
+            int codecId = header.getInt(); //Codec used by the writer
+            if (codecId != codec.id()) throw new IOException("snapshot uses codec " + codecId + ", not " + codec.id()); //Keys would decode as garbage
+            int count = header.getInt(), maxKey = header.getInt(); //Totals
+            long payload = header.getLong(); //Payload bytes
+            int expectedCrc = header.getInt(); //Payload checksum
+            if (count < 0 || maxKey < 0 || payload < 0 || count > payload && maxKey > 0 || HEADER_BYTES + payload != ch.size()) throw new IOException("corrupt snapshot header in " + file); //Truncated or padded
+
+            E[] keys = (E[])new Comparable<?>[count]; //Decoded keys
+            CRC32 crc = new CRC32(); //Recomputed checksum
+            long base = HEADER_BYTES; //File offset of the current window
+            MappedByteBuffer window = null; //Current mapping
+            int width = codec.fixedWidth(); //Bytes per key, 0 if keys vary
+            try {
+                for (int i = 0; i < count; ) { //Decode every key
+                    if (window == null || window.remaining() < maxKey && base + window.limit() < ch.size()) { //Next key may cross the window end
+                        if (window != null) { crc.update(window.flip()); base += window.limit(); } //Checksum what was consumed
+                        window = ch.map(FileChannel.MapMode.READ_ONLY, base, Math.min(MAP_WINDOW, ch.size() - base)); //Map the next stretch
+                        window.order(ByteOrder.LITTLE_ENDIAN); //Format byte order
+                    }
+                    if (width == 0) { keys[i++] = codec.read(window); continue; } //Sequential read straight from the page cache
+                    int n = Math.min(count - i, Math.max(window.remaining() / width, 1)); //Whole keys left in this window (at least one, so a short payload underflows)
+                    codec.readAll(window, keys, i, i + n); //Bulk decode
+                    i += n; //Next batch
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException ex) { //Bad lengths in the payload
+                throw new IOException("corrupt snapshot payload in " + file, ex); //Report as I/O failure
+            }
+            if (window != null) { //Checksum the rest, including any trailing bytes
+                if (window.position() != window.limit() || base + window.limit() != ch.size()) throw new IOException("trailing bytes in snapshot " + file); //Count and payload disagree
+                crc.update(window.flip()); //Last window
+            } else if (payload != 0) throw new IOException("trailing bytes in snapshot " + file); //Empty tree with a payload
+            if ((int)crc.getValue() != expectedCrc) throw new IOException("checksum mismatch in snapshot " + file); //Corrupted on disk
+            return keys; //Ascending; bulkLoad builds the tree directly from it
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package wilner.bench;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessAccelerationBenchmark { //Latency percentiles (p50/p99) of search and insert with finger search and the hot-key cache
+    private static final int MASK = (1 << 16) - 1; //Precomputed key arrays are 64K long
+
+    public enum Acceleration { NONE, FINGER, CACHE, BOTH } //Access layers to enable
+
+    @Param({"NONE", "FINGER", "CACHE", "BOTH"})
+    public Acceleration acceleration; //Layers under test
+
+    @Param({"ZIPFIAN", "SORTED"})
+    public KeyDistribution distribution; //Query skew (SORTED = ascending sweep)
+
+    @Param({"1000000"})
+    public int size; //Number of keys in the tree
+
+    @Param({"4096"})
+    public int cacheCapacity; //Hot-key cache slots when CACHE or BOTH
+
+    private Collection<Integer> tree; //AVL tree under test
+    private Integer[] hits; //Present keys in distribution order, pre-boxed
+    private int next; //Next key for appendAscending()
+    private int i; //Cursor into hits
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException { //Build the tree once, then switch the layers on
+        int[] order = KeyDistribution.RANDOM.insertionOrder(size, 42); //Same shape for every variant
+        tree = TreeImpl.AVL.create(); //Empty AVL tree
+        for (int k : order) tree.add(k); //Insert through the Collection API
+        Class<?> type = tree.getClass(); //Default-package class: configure reflectively
+        boolean finger = acceleration == Acceleration.FINGER || acceleration == Acceleration.BOTH; //Finger wanted
+        boolean cache = acceleration == Acceleration.CACHE || acceleration == Acceleration.BOTH;   //Cache wanted
+        type.getMethod("setFingerSearch", boolean.class).invoke(tree, finger); //Finger search on or off
+        type.getMethod("setAccessCache", int.class).invoke(tree, cache ? cacheCapacity : 0); //Cache on or off
+        int[] q = distribution.queries(order, MASK + 1, 43); //Lookups that hit
+        hits = new Integer[q.length]; //Boxed once
+        for (int j = 0; j < q.length; j++) hits[j] = q[j]; //Copy
+        next = 2 * size; //Above every present key
+    }
+
+    @Benchmark
+    public boolean search() { //search() for a present key
+        return tree.contains(hits[i++ & MASK]); //Collection.contains delegates to search
+    }
+
+    @Benchmark
+    public boolean appendAscending() { //insert() of ever-larger keys, the near-sorted ingest case
+        return tree.add(next++); //Always a new maximum
+    }
+}
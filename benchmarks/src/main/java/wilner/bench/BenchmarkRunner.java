@@ -0,0 +1,22 @@
+package wilner.bench;
+
+import java.io.*;
+import org.openjdk.jmh.profile.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+public final class BenchmarkRunner { //Runs the suite with the GC profiler so allocation rates are reported
+    private BenchmarkRunner() {} //No instances
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException { //Main-Class of benchmarks.jar; accepts the usual JMH command line
+        CommandLineOptions cmd = new CommandLineOptions(args); //-p, -f, -wi, include regexps, ...
+        if (cmd.shouldHelp()) { cmd.showHelp(); return; } //-h, as with org.openjdk.jmh.Main
+        Options options = new OptionsBuilder() //Defaults first, command line wins
+                .parent(cmd) //Command line
+                .addProfiler(GCProfiler.class) //gc.alloc.rate and gc.alloc.rate.norm per benchmark
+                .build(); //Final options
+        Runner runner = new Runner(options); //Runner for the selection
+        if (cmd.shouldList()) { runner.list(); return; } //-l
+        runner.run(); //Run everything selected
+    }
+}
@@ -0,0 +1,66 @@
+package wilner.bench;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ConcurrentTreeBenchmark { //95/5 read/write mix from several threads on one shared tree; vary the thread count with -t
+    private static final int MASK = (1 << 16) - 1; //Precomputed key arrays are 64K long
+
+    public enum Impl { CONCURRENT, SYNCHRONIZED_AVL, SKIPLIST } //CAS-published path copying, one lock around an AVL tree, JDK baseline
+
+    @Param({"CONCURRENT", "SYNCHRONIZED_AVL", "SKIPLIST"})
+    public Impl impl; //Implementation under test
+
+    @Param({"1000000"})
+    public int size; //Number of keys in the tree
+
+    private Collection<Integer> tree; //Shared by all threads
+    private Integer[] hits;   //Present keys, pre-boxed
+    private Integer[] misses; //Absent keys for the writes, pre-boxed
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ReflectiveOperationException { //Build the shared tree once
+        int[] order = KeyDistribution.RANDOM.insertionOrder(size, 42); //Even keys, random order
+        Integer[] keys = new Integer[size]; //Boxed for the bulk constructors
+        for (int j = 0; j < size; j++) keys[j] = order[j]; //Copy
+        switch (impl) { //Build
+            case CONCURRENT: tree = (Collection<Integer>)Class.forName("WilnerConcurrentTree").getConstructor(Comparable[].class).newInstance((Object)keys); break; //Balanced build, published once
+            case SYNCHRONIZED_AVL: Collection<Integer> avl = TreeImpl.AVL.create(); avl.addAll(Arrays.asList(keys)); tree = Collections.synchronizedCollection(avl); break; //Readers and writers share one monitor
+            default: tree = new ConcurrentSkipListSet<>(Arrays.asList(keys)); //Lock-free JDK set
+        }
+        hits = box(KeyDistribution.RANDOM.queries(order, MASK + 1, 43)); //Lookups that hit
+        misses = box(KeyDistribution.misses(size, MASK + 1, 44)); //Odd keys, spread over the key space
+    }
+
+    private static Integer[] box(int[] keys) { //Box once during setup
+        Integer[] out = new Integer[keys.length]; //Boxed array
+        for (int j = 0; j < keys.length; j++) out[j] = keys[j]; //Copy
+        return out; //Result
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor { //Per-thread position, so threads do not walk the key arrays in lockstep
+        int i; //Cursor into the key arrays
+
+        @Setup(Level.Trial)
+        public void setUp() { i = ThreadLocalRandom.current().nextInt(); } //Random start
+    }
+
+    @Benchmark
+    public boolean mixed(Cursor c) { //95% search, 5% writes (insert and delete of the same absent pool, so the size stays put)
+        int j = c.i++ & MASK; //Cursor
+        int op = j % 100; //Operation selector, uniform over the key array
+        if (op < 95) return tree.contains(hits[j]); //Search
+        if ((j & 1) == 0) return tree.add(misses[j]); //Insert
+        return tree.remove(misses[j ^ 1]); //Delete a key an earlier write may have inserted
+    }
+}
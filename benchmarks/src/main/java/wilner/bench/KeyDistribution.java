@@ -0,0 +1,46 @@
+package wilner.bench;
+
+import java.util.*;
+
+public enum KeyDistribution { //Insertion order and query skew of the generated keys
+    RANDOM,  //Keys inserted in random order, uniformly random queries
+    SORTED,  //Keys inserted in ascending order, ascending queries
+    ZIPFIAN; //Keys inserted in random order, Zipf-skewed queries (a few hot keys)
+
+    //Present keys are the even numbers 0, 2, ..., 2(n-1); odd numbers are guaranteed misses.
+
+    public int[] insertionOrder(int n, long seed) { //Order in which the n present keys are inserted
+        int[] keys = new int[n]; //Key array
+        for (int i = 0; i < n; i++) keys[i] = 2 * i; //Ascending even keys
+        if (this != SORTED) shuffle(keys, new SplittableRandom(seed)); //Random order for the others
+        return keys; //Result
+    }
+
+    public int[] queries(int[] insertionOrder, int count, long seed) { //count keys to look up, all present
+        int n = insertionOrder.length; //Tree size
+        int[] out = new int[count]; //Query array
+        SplittableRandom rnd = new SplittableRandom(seed); //Deterministic
+        switch (this) { //Pick the access pattern
+            case SORTED: for (int i = 0; i < count; i++) out[i] = 2 * (i % n); break; //Ascending sweep
+            case RANDOM: for (int i = 0; i < count; i++) out[i] = 2 * rnd.nextInt(n); break; //Uniform
+            default: //Hot ranks map through the shuffled order so hot keys are spread over the key space
+                ZipfianGenerator zipf = new ZipfianGenerator(n, 0.99, seed); //YCSB default skew
+                for (int i = 0; i < count; i++) out[i] = insertionOrder[zipf.next()]; //Skewed
+        }
+        return out; //Result
+    }
+
+    public static int[] misses(int n, int count, long seed) { //count keys that are not in the tree
+        int[] out = new int[count]; //Miss array
+        SplittableRandom rnd = new SplittableRandom(seed); //Deterministic
+        for (int i = 0; i < count; i++) out[i] = 2 * rnd.nextInt(n) + 1; //Odd keys inside the key range
+        return out; //Result
+    }
+
+    private static void shuffle(int[] a, SplittableRandom rnd) { //Fisher-Yates
+        for (int i = a.length - 1; i > 0; i--) { //From the end
+            int j = rnd.nextInt(i + 1); //Random earlier slot
+            int t = a[i]; a[i] = a[j]; a[j] = t; //Swap
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package wilner.bench;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraversalBenchmark { //Iterator and traversal cost, including the WilnerTree Collection defaults
+    private static final int BATCH = 1024; //Keys per addAll/containsAll call
+
+    @Param({"BST", "AVL", "BTREE", "TREESET"})
+    public TreeImpl impl; //Implementation under test
+
+    @Param({"RANDOM", "SORTED", "ZIPFIAN"})
+    public KeyDistribution distribution; //Insertion order (shape of the BST)
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size; //Number of keys in the tree
+
+    private Collection<Integer> tree;   //Tree under test
+    private List<Integer> presentBatch; //Keys already in the tree
+    private List<Integer> absentBatch;  //Keys not in the tree
+    private Set<Integer> everything;    //All present keys, for a retainAll that keeps everything
+
+    @Setup(Level.Trial)
+    public void setUp() { //Build the tree once per parameter combination
+        if (impl.degenerates(distribution) && size > 100_000) //A sorted-input BST is a linked list: setup alone is O(n^2)
+            throw new IllegalStateException("BST with SORTED keys is skipped above 100000 elements");
+        int[] order = distribution.insertionOrder(size, 42); //Insertion order
+        tree = impl.create(); //Empty tree
+        for (int k : order) tree.add(k); //Insert through the Collection API (insert())
+        presentBatch = new ArrayList<>(BATCH); //Present keys
+        for (int k : distribution.queries(order, BATCH, 43)) presentBatch.add(k); //Follow the distribution
+        absentBatch = new ArrayList<>(new LinkedHashSet<>(toList(KeyDistribution.misses(size, BATCH, 44)))); //Distinct misses
+        everything = new HashSet<>(tree); //O(1) contains for retainAll
+    }
+
+    private static List<Integer> toList(int[] keys) { //Box into a list
+        List<Integer> out = new ArrayList<>(keys.length); //Result
+        for (int k : keys) out.add(k); //Copy
+        return out; //Result
+    }
+
+    @Benchmark
+    public long iterateAll() { //Full scan through iterator()
+        long sum = 0; //Consume every element
+        for (Integer k : tree) sum += k; //for-each uses iterator()
+        return sum; //Result
+    }
+
+    @Benchmark
+    public long iterateFirst10() { //Early exit: cost of creating the iterator dominates
+        long sum = 0; //Consume a few elements
+        Iterator<Integer> it = tree.iterator(); //Fresh iterator
+        for (int j = 0; j < 10 && it.hasNext(); j++) sum += it.next(); //Stop after 10
+        return sum; //Result
+    }
+
+    @Benchmark
+    public List<Integer> inorderList() { //Materialized inorder traversal
+        return impl.inorderList(tree); //TreeSet baseline copies into an ArrayList
+    }
+
+    @Benchmark
+    public List<Integer> preorderList() { //Materialized preorder traversal (no TreeSet baseline)
+        return impl.preorderList(tree); //Throws for TREESET
+    }
+
+    @Benchmark
+    public Object[] toArray() { //WilnerTree.toArray() default
+        return tree.toArray(); //Full copy
+    }
+
+    @Benchmark
+    public boolean containsAll() { //WilnerTree.containsAll() default
+        return tree.containsAll(presentBatch); //All hits
+    }
+
+    @Benchmark
+    public boolean addAllExisting() { //WilnerTree.addAll() default when nothing changes
+        return tree.addAll(presentBatch); //Every insert finds a duplicate
+    }
+
+    @Benchmark
+    public boolean addAllThenRemoveAll() { //WilnerTree.addAll() and removeAll() defaults with real changes
+        return tree.addAll(absentBatch) & tree.removeAll(absentBatch); //Restore the original contents
+    }
+
+    @Benchmark
+    public boolean retainAllEverything() { //WilnerTree.retainAll() default: full scan plus c.contains per element
+        return tree.retainAll(everything); //Removes nothing
+    }
+}
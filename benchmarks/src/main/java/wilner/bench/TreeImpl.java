@@ -0,0 +1,64 @@
+package wilner.bench;
+
+import java.lang.invoke.*;
+import java.util.*;
+
+public enum TreeImpl { //Tree implementations under test, plus java.util.TreeSet as the baseline
+    BST("WilnerBinarySearchTree"), //Unbalanced binary search tree
+    AVL("WilnerAVLTree"),          //AVL tree
+    BTREE("WilnerBTree"),          //B+-tree with the default fanout
+    TREESET(null);                 //JDK red-black tree baseline
+
+    private final String className; //Default-package class name, null for TreeSet
+    private final MethodHandle constructor; //No-arg constructor of the tree class
+    private final MethodHandle inorderList; //WilnerTree.inorderList()
+    private final MethodHandle preorderList; //WilnerTree.preorderList()
+
+    TreeImpl(String className) { //Resolve handles once
+        this.className = className; //Remember the class
+        if (className == null) { constructor = inorderList = preorderList = null; return; } //TreeSet needs no handles
+        try { //The trees live in the default package, which named packages cannot import
+            Class<?> type = Class.forName(className); //Load by name instead
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup(); //Public API only
+            constructor = lookup.findConstructor(type, MethodType.methodType(void.class)).asType(MethodType.methodType(Collection.class)); //new Tree()
+            inorderList = lookup.findVirtual(type, "inorderList", MethodType.methodType(List.class)).asType(MethodType.methodType(List.class, Collection.class)); //tree.inorderList()
+            preorderList = lookup.findVirtual(type, "preorderList", MethodType.methodType(List.class)).asType(MethodType.methodType(List.class, Collection.class)); //tree.preorderList()
+        } catch (ReflectiveOperationException ex) { //Core jar missing from the classpath
+            throw new ExceptionInInitializerError(ex); //Fail the benchmark early
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Collection<Integer> create() { //New empty tree
+        if (className == null) return new TreeSet<>(); //Baseline
+        try { //Invoke through the cached handle
+            return (Collection<Integer>)(Collection<?>)constructor.invokeExact(); //new Tree()
+        } catch (Throwable t) { //Constructors here do not throw
+            throw new IllegalStateException(t); //Unexpected
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Integer> inorderList(Collection<Integer> tree) { //Materialized inorder list
+        if (className == null) return new ArrayList<>(tree); //TreeSet equivalent
+        try { //Invoke through the cached handle
+            return (List<Integer>)inorderList.invokeExact(tree); //tree.inorderList()
+        } catch (Throwable t) { //Traversals here do not throw
+            throw new IllegalStateException(t); //Unexpected
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Integer> preorderList(Collection<Integer> tree) { //Materialized preorder list
+        if (className == null) throw new UnsupportedOperationException("TreeSet has no preorder traversal"); //No baseline
+        try { //Invoke through the cached handle
+            return (List<Integer>)preorderList.invokeExact(tree); //tree.preorderList()
+        } catch (Throwable t) { //Traversals here do not throw
+            throw new IllegalStateException(t); //Unexpected
+        }
+    }
+
+    public boolean degenerates(KeyDistribution distribution) { //True if sorted inserts turn this tree into a linked list
+        return this == BST && distribution == KeyDistribution.SORTED; //Plain BST does not rebalance
+    }
+}
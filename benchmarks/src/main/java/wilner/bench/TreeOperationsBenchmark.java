@@ -0,0 +1,83 @@
+package wilner.bench;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeOperationsBenchmark { //Point operations on a tree of the given size and key distribution
+    private static final int MASK = (1 << 16) - 1; //Precomputed key arrays are 64K long
+
+    @Param({"BST", "AVL", "BTREE", "TREESET"})
+    public TreeImpl impl; //Implementation under test
+
+    @Param({"RANDOM", "SORTED", "ZIPFIAN"})
+    public KeyDistribution distribution; //Insertion order and query skew
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size; //Number of keys in the tree
+
+    private Collection<Integer> tree; //Tree under test
+    private Integer[] hits;   //Present keys, pre-boxed so boxing is not measured
+    private Integer[] misses; //Absent keys, pre-boxed
+    private byte[] ops;       //Operation mix for mixed(): 0-94 search, 95-99 write
+    private int i;            //Cursor into the key arrays
+    private Integer written;  //Key the last mixed() insert added, null if the next write is an insert
+
+    @Setup(Level.Trial)
+    public void setUp() { //Build the tree once per parameter combination
+        if (impl.degenerates(distribution) && size > 100_000) //A sorted-input BST is a linked list: setup alone is O(n^2)
+            throw new IllegalStateException("BST with SORTED keys is skipped above 100000 elements");
+        int[] order = distribution.insertionOrder(size, 42); //Insertion order
+        tree = impl.create(); //Empty tree
+        for (int k : order) tree.add(k); //Insert through the Collection API (insert())
+        hits = box(distribution.queries(order, MASK + 1, 43)); //Lookups that hit
+        misses = box(KeyDistribution.misses(size, MASK + 1, 44)); //Lookups that miss
+        ops = new byte[MASK + 1]; //Operation mix
+        SplittableRandom rnd = new SplittableRandom(45); //Deterministic
+        for (int j = 0; j < ops.length; j++) ops[j] = (byte)rnd.nextInt(100); //Uniform percentages
+    }
+
+    private static Integer[] box(int[] keys) { //Box once during setup
+        Integer[] out = new Integer[keys.length]; //Boxed array
+        for (int j = 0; j < keys.length; j++) out[j] = keys[j]; //Copy
+        return out; //Result
+    }
+
+    @Benchmark
+    public boolean searchHit() { //search() for a present key
+        return tree.contains(hits[i++ & MASK]); //Collection.contains delegates to search
+    }
+
+    @Benchmark
+    public boolean searchMiss() { //search() for an absent key
+        return tree.contains(misses[i++ & MASK]); //Collection.contains delegates to search
+    }
+
+    @Benchmark
+    public boolean insertThenDelete() { //insert() of a new key, then delete() it to keep the size fixed
+        Integer k = misses[i++ & MASK]; //Absent key
+        return tree.add(k) & tree.remove(k); //Both must succeed
+    }
+
+    @Benchmark
+    public boolean deleteThenInsert() { //delete() of a present key, then insert() it back
+        Integer k = hits[i++ & MASK]; //Present key
+        return tree.remove(k) & tree.add(k); //Both must succeed
+    }
+
+    @Benchmark
+    public boolean mixed() { //95% search, 5% writes; writes alternate between inserting an absent key and deleting it again, so every write changes the tree and the size stays put
+        int j = i++ & MASK; //Cursor
+        if (ops[j] < 95) return tree.contains(hits[j]); //Search
+        if (written == null) { written = misses[j]; return tree.add(written); } //Insert: always a new key
+        Integer k = written; //Key inserted by the previous write
+        written = null; //Next write inserts again
+        return tree.remove(k); //Delete: always a hit
+    }
+}
@@ -0,0 +1,56 @@
+package wilner.bench;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(2 * WriteBufferBenchmark.BURST)
+public class WriteBufferBenchmark { //Ingest throughput of write bursts into a large AVL tree, with and without the write buffer
+    static final int BURST = 1 << 16; //Inserts (and as many deletes) per invocation
+
+    @Param({"0", "1024", "65536"})
+    public int bufferCapacity; //Buffered writes per batch, 0 = immediate writes
+
+    @Param({"RANDOM", "SORTED"})
+    public KeyDistribution distribution; //Arrival order of the burst (SORTED = ascending run)
+
+    @Param({"1000000"})
+    public int size; //Number of keys in the tree
+
+    private Collection<Integer> tree; //AVL tree under test
+    private Integer[] burst; //Absent keys written per invocation, pre-boxed
+    private Method flush; //WilnerAVLTree.flush()
+    private MethodHandle bufferInsert, bufferDelete; //WilnerAVLTree.bufferInsert/bufferDelete as (Collection, Integer)void
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException { //Build the tree once, then switch buffering on
+        tree = TreeImpl.AVL.create(); //Empty AVL tree
+        for (int k : KeyDistribution.RANDOM.insertionOrder(size, 42)) tree.add(k); //Even keys, balanced shape
+        Class<?> type = tree.getClass(); //Default-package class: configure reflectively
+        type.getMethod("setWriteBuffer", int.class).invoke(tree, bufferCapacity); //Buffering on or off
+        flush = type.getMethod("flush"); //Applies whatever is still buffered
+        MethodType erased = MethodType.methodType(void.class, Comparable.class), exact = MethodType.methodType(void.class, Collection.class, Integer.class); //E erases to Comparable
+        bufferInsert = MethodHandles.publicLookup().findVirtual(type, "bufferInsert", erased).asType(exact); //No-result insert: only appended when buffering is on
+        bufferDelete = MethodHandles.publicLookup().findVirtual(type, "bufferDelete", erased).asType(exact); //No-result delete
+        int[] keys = KeyDistribution.misses(size, BURST, 44); //Odd keys spread over the key space
+        if (distribution == KeyDistribution.SORTED) for (int i = 0; i < BURST; i++) keys[i] = 2 * ((keys[0] / 2 + i) % size) + 1; //Consecutive odd keys instead
+        burst = new Integer[BURST]; //Boxed once
+        for (int i = 0; i < BURST; i++) burst[i] = keys[i]; //Copy
+    }
+
+    @Benchmark
+    public void insertThenDelete() throws Throwable { //Write the burst, make it visible, take it out again: the tree ends where it started
+        for (Integer k : burst) bufferInsert.invokeExact(tree, k); //Inserts; immediate when bufferCapacity is 0, so every setting pays the same call path
+        flush.invoke(tree); //Visible to readers
+        for (Integer k : burst) bufferDelete.invokeExact(tree, k); //Deletes
+        flush.invoke(tree); //Gone for readers
+    }
+}
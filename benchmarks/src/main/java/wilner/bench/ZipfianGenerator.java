@@ -0,0 +1,36 @@
+package wilner.bench;
+
+import java.util.*;
+
+final class ZipfianGenerator { //Zipf-distributed ranks in [0, n), closed form from Gray et al. (as used by YCSB)
+    private final int n;          //Number of ranks
+    private final double theta;   //Skew (0.99 is the YCSB default)
+    private final double alpha;   //1 / (1 - theta)
+    private final double zetan;   //Generalized harmonic number H(n, theta)
+    private final double eta;     //Correction term
+    private final SplittableRandom rnd; //Uniform source
+
+    ZipfianGenerator(int n, double theta, long seed) { //Precompute constants in O(n) once
+        this.n = n; //Ranks
+        this.theta = theta; //Skew
+        this.alpha = 1.0 / (1.0 - theta); //Exponent
+        this.zetan = zeta(n, theta); //H(n, theta)
+        double zeta2 = zeta(2, theta); //H(2, theta)
+        this.eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetan); //Correction
+        this.rnd = new SplittableRandom(seed); //Deterministic
+    }
+
+    int next() { //Next rank; 0 is the hottest
+        double u = rnd.nextDouble(); //Uniform in [0, 1)
+        double uz = u * zetan; //Scaled
+        if (uz < 1.0) return 0; //Rank 0
+        if (uz < 1.0 + Math.pow(0.5, theta)) return Math.min(1, n - 1); //Rank 1
+        return Math.min(n - 1, (int)(n * Math.pow(eta * u - eta + 1, alpha))); //Closed form for the tail
+    }
+
+    private static double zeta(int n, double theta) { //Sum of 1 / i^theta for i = 1..n
+        double sum = 0; //Running sum
+        for (int i = 1; i <= n; i++) sum += 1.0 / Math.pow(i, theta); //Add each term
+        return sum; //Result
+    }
+}
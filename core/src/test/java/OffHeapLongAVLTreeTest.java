@@ -0,0 +1,80 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+class OffHeapLongAVLTreeTest { //OffHeapLongAVLTree against java.util.TreeSet, in direct memory and in a mapped file
+    @TempDir
+    Path dir; //Fresh per test
+
+    private static void randomOps(OffHeapLongAVLTree tree, TreeSet<Long> ref, Random rnd, int steps) { //Random writes and searches, checked step by step
+        for (int step = 0; step < steps; step++) { //Random operations
+            long k = rnd.nextInt(100_000) * 1_000_003L - 50_000_000_000L; //Wide, signed keys
+            switch (rnd.nextInt(3)) { //Operation
+                case 0: case 1: assertEquals(ref.add(k), tree.insert(k), "insert " + k); break; //Insert (grows past one slab)
+                default: assertEquals(ref.remove(k), tree.delete(k), "delete " + k); //Delete (recycles nodes)
+            }
+            if (step % 7 == 0) assertEquals(ref.contains(k + 1_000_003L), tree.search(k + 1_000_003L)); //Search a neighbour
+        }
+    }
+
+    private static void assertSameContents(TreeSet<Long> ref, OffHeapLongAVLTree tree) { //Size, order, shape and ranges
+        assertEquals(ref.size(), tree.getSize()); //Size
+        List<Long> in = new ArrayList<>(), pre = new ArrayList<>(), post = new ArrayList<>(); //Traversals
+        tree.inorder((long x) -> in.add(x)); //Ascending
+        tree.preorder((long x) -> pre.add(x)); //Root first
+        tree.postorder((long x) -> post.add(x)); //Children first
+        assertEquals(new ArrayList<>(ref), in); //Contents
+        assertEquals(WilnerTreeShapes.checkPreorder(pre, true), post); //Balanced, consistent traversals
+        assertTrue(tree.height() <= 1.45 * Math.log(ref.size() + 2) / Math.log(2)); //AVL height bound
+        if (ref.isEmpty()) return; //No range to probe
+        long from = ref.first() / 2, to = from + 10_000_000_000L; //Some range inside the keys
+        List<Long> range = new ArrayList<>(); //Range output
+        tree.range(from, to, (long x) -> range.add(x)); //Range scan
+        assertEquals(new ArrayList<>(ref.subSet(from, true, to, true)), range); //Closed range
+    }
+
+    @Test
+    void directMemoryMatchesTreeSet() throws IOException { //Anonymous slabs
+        TreeSet<Long> ref = new TreeSet<>(); //Reference
+        try (OffHeapLongAVLTree tree = new OffHeapLongAVLTree()) { //Released by close()
+            randomOps(tree, ref, new Random(15), 150_000); //More than one 65536-node slab
+            assertSameContents(ref, tree); //Exact
+            assertTrue(tree.offHeapBytes() > 0); //Memory lives off the heap
+            tree.clear(); //Keep the slabs, drop the keys
+            assertEquals(0, tree.getSize()); //Empty
+            assertFalse(tree.search(ref.first())); //Really empty
+            ref.clear(); //Same for the reference
+            randomOps(tree, ref, new Random(16), 1000); //Reusable after clear
+            assertSameContents(ref, tree); //Exact
+            tree.close(); //Explicit close
+            assertThrows(IllegalStateException.class, () -> tree.search(1)); //Fails fast after close
+        } //Second close is a no-op
+    }
+
+    @Test
+    void fileBackedTreeReopensWithItsContents() throws IOException { //State survives close and reopen, and writes continue where they left off
+        Path file = dir.resolve("tree.avl"); //Backing file
+        TreeSet<Long> ref = new TreeSet<>(); //Reference
+        Random rnd = new Random(17); //Deterministic
+        for (int round = 0; round < 3; round++) { //Reopen several times
+            try (OffHeapLongAVLTree tree = new OffHeapLongAVLTree(file)) { //Creates, then reopens
+                assertSameContents(ref, tree); //Everything from the previous rounds
+                randomOps(tree, ref, rnd, 40_000); //More writes, spanning slabs and the free list
+                assertSameContents(ref, tree); //Exact
+            } //close() forces and unmaps
+        }
+    }
+
+    @Test
+    void refusesForeignFiles() throws IOException { //A file that is not an off-heap AVL file is never overwritten
+        Path file = dir.resolve("foreign"); //Some other file
+        byte[] content = "not a tree".getBytes(); //Arbitrary bytes
+        Files.write(file, content); //Existing content
+        assertThrows(IOException.class, () -> new OffHeapLongAVLTree(file)); //Rejected
+        assertArrayEquals(content, Arrays.copyOf(Files.readAllBytes(file), content.length)); //Content intact
+    }
+}
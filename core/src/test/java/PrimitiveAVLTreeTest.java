@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+class PrimitiveAVLTreeTest { //IntAVLTree and LongAVLTree against java.util.TreeSet
+    private static final int STEPS = 20000; //Operations per sequence
+
+    @Test
+    void intTreeMatchesTreeSet() { //Random inserts and deletes, starting below capacity so the pool grows and recycles slots
+        Random rnd = new Random(5); //Deterministic
+        IntAVLTree tree = new IntAVLTree(1); //Smallest pool
+        TreeSet<Integer> ref = new TreeSet<>(); //Reference
+        for (int step = 0; step < STEPS; step++) { //Random operations
+            int k = rnd.nextInt(3000) - 1500; //Negative keys too
+            switch (rnd.nextInt(3)) { //Operation
+                case 0: assertEquals(ref.add(k), tree.insert(k), "insert " + k); break; //Insert
+                case 1: assertEquals(ref.remove(k), tree.delete(k), "delete " + k); break; //Delete
+                default: assertEquals(ref.contains(k), tree.search(k), "search " + k); //Search
+            }
+            assertEquals(ref.size(), tree.getSize()); //Size
+            if (step % 500 != 0) continue; //Shape checks now and then
+            assertArrayEquals(ref.stream().mapToInt(Integer::intValue).toArray(), tree.inorderArray()); //Contents
+            List<Integer> pre = new ArrayList<>(), post = new ArrayList<>(), range = new ArrayList<>(); //Traversals
+            tree.preorder((int x) -> pre.add(x)); //Root first
+            tree.postorder((int x) -> post.add(x)); //Children first
+            assertEquals(WilnerTreeShapes.checkPreorder(pre, true), post); //Balanced, and both walks describe the same tree
+            int from = rnd.nextInt(3200) - 1600, to = from + rnd.nextInt(400); //Range probe, may lie outside the keys
+            tree.range(from, to, (int x) -> range.add(x)); //Range scan
+            assertEquals(new ArrayList<>(ref.subSet(from, true, to, true)), range, "range " + from + ".." + to); //Closed range
+        }
+    }
+
+    @Test
+    void longTreeMatchesTreeSet() { //Same for longs, with keys beyond the int range
+        Random rnd = new Random(6); //Deterministic
+        LongAVLTree tree = new LongAVLTree(1); //Smallest pool
+        TreeSet<Long> ref = new TreeSet<>(); //Reference
+        for (int step = 0; step < STEPS; step++) { //Random operations
+            long k = (rnd.nextInt(3000) - 1500) * 10_000_000_000L; //Spaced far apart
+            switch (rnd.nextInt(3)) { //Operation
+                case 0: assertEquals(ref.add(k), tree.insert(k), "insert " + k); break; //Insert
+                case 1: assertEquals(ref.remove(k), tree.delete(k), "delete " + k); break; //Delete
+                default: assertEquals(ref.contains(k), tree.search(k), "search " + k); //Search
+            }
+            assertEquals(ref.size(), tree.getSize()); //Size
+            if (step % 500 != 0) continue; //Shape checks now and then
+            assertArrayEquals(ref.stream().mapToLong(Long::longValue).toArray(), tree.inorderArray()); //Contents
+            List<Long> pre = new ArrayList<>(), post = new ArrayList<>(), range = new ArrayList<>(); //Traversals
+            tree.preorder((long x) -> pre.add(x)); //Root first
+            tree.postorder((long x) -> post.add(x)); //Children first
+            assertEquals(WilnerTreeShapes.checkPreorder(pre, true), post); //Balanced, and both walks describe the same tree
+            long from = k - 2_000_000_000_000L, to = k + 2_000_000_000_000L; //Range around the last key
+            tree.range(from, to, (long x) -> range.add(x)); //Range scan
+            assertEquals(new ArrayList<>(ref.subSet(from, true, to, true)), range, "range " + from + ".." + to); //Closed range
+        }
+    }
+
+    @Test
+    void extremesSortedInputAndClear() { //MIN/MAX keys, ascending input (worst case for rotations) and reuse after clear
+        IntAVLTree ints = new IntAVLTree(); //Default capacity
+        LongAVLTree longs = new LongAVLTree(); //Default capacity
+        for (int round = 0; round < 2; round++) { //Second round runs on recycled arrays
+            for (int k = 0; k < 5000; k++) { assertTrue(ints.insert(k)); assertTrue(longs.insert(k)); } //Ascending
+            assertTrue(ints.insert(Integer.MIN_VALUE) && ints.insert(Integer.MAX_VALUE)); //Extremes
+            assertTrue(longs.insert(Long.MIN_VALUE) && longs.insert(Long.MAX_VALUE)); //Extremes
+            assertEquals(5002, ints.getSize()); //Counted
+            assertEquals(Integer.MIN_VALUE, ints.inorderArray()[0]); //Smallest first
+            assertEquals(Long.MAX_VALUE, longs.inorderArray()[5001]); //Largest last
+            List<Integer> pre = new ArrayList<>(); //Shape after sorted input
+            ints.preorder((int x) -> pre.add(x)); //Root first
+            WilnerTreeShapes.checkPreorder(pre, true); //Still balanced
+            ints.clear(); longs.clear(); //Empty again
+            assertTrue(ints.isEmpty() && longs.isEmpty()); //Both empty
+            assertFalse(ints.search(0) || longs.search(0)); //Nothing left
+        }
+    }
+
+    @Test
+    void appendableOutputMatchesTraversals() throws IOException { //Printed lines hold the keys in traversal order, as println would
+        IntAVLTree ints = new IntAVLTree(); //Small tree
+        LongAVLTree longs = new LongAVLTree(); //Same keys
+        for (int k : new int[] { 5, -3, 12, Integer.MIN_VALUE, 0 }) { ints.insert(k); longs.insert(k); } //Mixed signs
+        longs.insert(Long.MIN_VALUE); //Widest number
+        StringBuilder in = new StringBuilder(), pre = new StringBuilder(), longIn = new StringBuilder(); //Destinations
+        ints.inorder(in); //Inorder line
+        ints.preorder(pre); //Preorder line
+        longs.inorder(longIn); //Long inorder line
+        String nl = System.lineSeparator(); //Line ending
+        assertEquals("-2147483648 -3 0 5 12 " + nl, in.toString()); //Ascending, space after each key
+        StringBuilder expected = new StringBuilder(); //Preorder through the consumer API
+        ints.preorder((int x) -> expected.append(x).append(' ')); //Same walk
+        assertEquals(expected + nl, pre.toString()); //Same keys, same order
+        assertEquals("-9223372036854775808 -2147483648 -3 0 5 12 " + nl, longIn.toString()); //Long.MIN_VALUE cannot be negated
+    }
+}
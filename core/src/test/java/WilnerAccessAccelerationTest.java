@@ -0,0 +1,136 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+class WilnerAccessAccelerationTest { //Finger search and the hot-key access cache checked against java.util.TreeSet
+    private static final int KEYS = 400;   //Key space: small, so operations collide often
+    private static final int STEPS = 6000; //Operations per sequence
+
+    @Test
+    void everyWritePathMatchesTreeSet() { //Stale fingers or cached elements would show up as wrong search answers
+        for (int config = 0; config < 16; config++) { //BST/AVL x finger off/on x cache off/tiny/small/large
+            boolean avl = (config & 1) != 0, finger = (config & 2) != 0; //Tree kind and finger mode
+            int cache = new int[] { 0, 1, 8, 1024 }[config >> 2]; //Tiny caches collide constantly
+            WilnerBinarySearchTree<Integer> tree = avl ? new WilnerAVLTree<>() : new WilnerBinarySearchTree<>(); //Tree under test
+            tree.setFingerSearch(finger); //Finger mode
+            tree.setAccessCache(cache); //Cache mode
+            tree.setOrderStatistics(config % 3 == 0); //Counts kept up by finger inserts too
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            Random rnd = new Random(config); //Deterministic
+            for (int step = 0; step < STEPS; step++) { //Random operations
+                int k = rnd.nextInt(4) == 0 ? rnd.nextInt(8) : rnd.nextInt(KEYS); //Hot keys often, so the cache holds elements that later go away
+                String where = "config " + config + " step " + step; //Failure context
+                switch (rnd.nextInt(20)) { //Operation
+                    case 0: case 1: case 2: case 3: assertEquals(ref.add(k), tree.insert(k), where + " insert " + k); break; //Insert
+                    case 4: case 5: case 6: assertEquals(ref.remove(k), tree.delete(k), where + " delete " + k); break; //Delete
+                    case 7: assertEquals(ref.pollFirst(), tree.pollFirst(), where + " pollFirst"); break; //Delete via pollFirst
+                    case 8: assertEquals(ref.pollLast(), tree.pollLast(), where + " pollLast"); break; //Delete via pollLast
+                    case 9: { //Iterator removal
+                        Iterator<Integer> a = ref.iterator(), b = tree.iterator(); //Same positions
+                        while (a.hasNext()) { assertEquals(a.next(), b.next(), where); if (rnd.nextInt(10) == 0) { a.remove(); b.remove(); } } //Remove about a tenth
+                        break;
+                    }
+                    case 10: { int hi = k + rnd.nextInt(20); ref.subSet(k, hi).clear(); tree.subSet(k, hi).clear(); break; } //Range removal through a view
+                    case 11: { //Bulk operations
+                        List<Integer> c = new ArrayList<>(); //Operand
+                        for (int i = rnd.nextInt(30); i > 0; i--) c.add(rnd.nextInt(KEYS)); //Random keys
+                        switch (rnd.nextInt(3)) { //Which one
+                            case 0: assertEquals(ref.addAll(c), tree.addAll(c), where + " addAll"); break; //Union
+                            case 1: assertEquals(ref.removeAll(c), tree.removeAll(c), where + " removeAll"); break; //Difference
+                            default: c.addAll(ref.headSet(k)); assertEquals(ref.retainAll(c), tree.retainAll(c), where + " retainAll"); //Intersection, keeping a prefix
+                        }
+                        break;
+                    }
+                    case 12: if (rnd.nextInt(20) == 0) { //Replace everything now and then
+                        Integer[] keys = new Integer[rnd.nextInt(100)]; //New contents
+                        for (int i = 0; i < keys.length; i++) keys[i] = rnd.nextInt(KEYS); //Unsorted, with duplicates
+                        tree.bulkLoad(keys); ref.clear(); ref.addAll(Arrays.asList(keys)); //Same contents
+                    } else if (rnd.nextInt(20) == 0) { tree.clear(); ref.clear(); } //Or empty it
+                    break;
+                    default: assertEquals(ref.contains(k), tree.search(k), where + " search " + k); //Search: most of the work
+                }
+                if (step % 500 == 0) { //Full comparison now and then
+                    assertEquals(new ArrayList<>(ref), tree.inorderList(), where + " contents"); //Same elements
+                    assertEquals(ref.size(), tree.getSize(), where + " size"); //Same size
+                    for (int q = 0; q < KEYS; q++) assertEquals(ref.contains(q), tree.contains(q), where + " contains " + q); //Every key, present or not
+                    if (avl) WilnerTreeShapes.checkPreorder(tree.preorderList(), true); //Finger inserts still rebalance
+                    if (tree.isOrderStatisticsEnabled() && !ref.isEmpty()) assertEquals(ref.headSet(k).size(), tree.rank(k), where + " rank"); //Counts kept up
+                }
+            }
+        }
+    }
+
+    @Test
+    void cacheMatchesByCompareToAndForgetsTheStoredElement() { //1.0 and 1.00 are the same element to the tree but hash differently
+        for (boolean avl : new boolean[] { false, true }) { //Both trees
+            WilnerBinarySearchTree<BigDecimal> tree = avl ? new WilnerAVLTree<>() : new WilnerBinarySearchTree<>(); //Tree under test
+            tree.setAccessCache(64); //Cache on
+            tree.setFingerSearch(avl); //With and without finger
+            assertTrue(tree.insert(new BigDecimal("1.0"))); //Stored form
+            assertTrue(tree.search(new BigDecimal("1.0"))); //Cached now
+            assertTrue(tree.search(new BigDecimal("1.00"))); //Equal by compareTo
+            assertFalse(tree.insert(new BigDecimal("1.00"))); //Duplicate
+            assertTrue(tree.delete(new BigDecimal("1.00"))); //Removes the stored 1.0
+            assertFalse(tree.search(new BigDecimal("1.0")), "cached 1.0 survived its deletion"); //Cache slot of the stored form cleared
+            assertFalse(tree.search(new BigDecimal("1.00"))); //Gone either way
+            assertEquals(0, tree.getSize()); //Empty
+        }
+    }
+
+    @Test
+    void cacheSurvivesBulkReplacement() { //clear, bulkLoad and set operations drop elements without delete()
+        WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Tree under test
+        tree.setAccessCache(16); //Cache on
+        for (int i = 0; i < 10; i++) tree.insert(i); //Contents
+        for (int i = 0; i < 10; i++) assertTrue(tree.search(i)); //All cached
+        tree.bulkLoad(new Integer[] { 20, 21 }); //Replaces everything
+        for (int i = 0; i < 10; i++) assertFalse(tree.search(i), "bulkLoad " + i); //None left
+        assertTrue(tree.search(20)); //Cached
+        tree.retainAll(List.of(21)); //Intersection removes 20
+        assertFalse(tree.search(20), "retainAll"); //Not served from the cache
+        tree.removeAll(List.of(21)); //Difference removes 21
+        assertFalse(tree.search(21), "removeAll"); //Not served from the cache
+        tree.insert(5); assertTrue(tree.search(5)); tree.clear(); //Cached, then cleared
+        assertFalse(tree.search(5), "clear"); //Not served from the cache
+        tree.setAccessCache(0); //Off
+        assertEquals(0, tree.getAccessCacheCapacity()); //Disabled
+        assertThrows(IllegalArgumentException.class, () -> tree.setAccessCache(-1)); //Nonsense
+        tree.setAccessCache(100); //Rounded up
+        assertEquals(128, tree.getAccessCacheCapacity()); //Power of two
+    }
+
+    private static final class Counted implements Comparable<Counted> { //Key that counts its comparisons
+        static long compares; //compareTo calls so far
+        final int v; //Value
+        Counted(int v) { this.v = v; } //Constructor
+        @Override
+        public int compareTo(Counted o) { compares++; return Integer.compare(v, o.v); } //Count, then compare
+        @Override
+        public boolean equals(Object o) { return o instanceof Counted && ((Counted)o).v == v; } //Consistent with compareTo
+        @Override
+        public int hashCode() { return v; } //Fresh instances find cached ones
+    }
+
+    @Test
+    void fingerAndCacheSaveComparisons() { //The point of both features: nearby keys cost O(log d), hot keys O(1)
+        for (boolean avl : new boolean[] { false, true }) { //Both trees
+            long[] compares = new long[3]; //Plain, finger, cache
+            for (int mode = 0; mode < 3; mode++) { //Same workload three ways
+                WilnerBinarySearchTree<Counted> tree = avl ? new WilnerAVLTree<>() : new WilnerBinarySearchTree<>(); //Tree under test
+                Counted[] keys = new Counted[1 << 16]; //Large, so a root descent costs ~16 compares
+                for (int i = 0; i < keys.length; i++) keys[i] = new Counted(2 * i); //Even keys
+                tree.bulkLoad(keys); //Balanced
+                tree.setFingerSearch(mode == 1); //Finger
+                tree.setAccessCache(mode == 2 ? 64 : 0); //Cache
+                Counted.compares = 0; //Start counting
+                if (mode == 2) { for (int r = 0; r < 1000; r++) for (int h = 0; h < 16; h++) assertTrue(tree.search(new Counted(2 * h))); } //Few hot keys, searched repeatedly
+                else for (int i = 0; i < 16000; i++) assertEquals(i % 2 == 0, tree.search(new Counted(i))); //Ascending sweep: each key next to the last one
+                compares[mode] = Counted.compares; //Cost of the workload
+            }
+            assertTrue(compares[1] < compares[0] / 3, (avl ? "AVL" : "BST") + " finger " + compares[1] + " vs " + compares[0]); //Climb a level or two instead of descending from the root
+            assertTrue(compares[2] < compares[0] / 5, (avl ? "AVL" : "BST") + " cache " + compares[2] + " vs " + compares[0]); //One compare per hit
+        }
+    }
+}
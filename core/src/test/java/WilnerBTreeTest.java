@@ -0,0 +1,67 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+class WilnerBTreeTest { //WilnerBTree against java.util.TreeSet, across fanouts
+    @Test
+    void matchesTreeSetAtEveryFanout() { //Small fanouts split and merge constantly, the default one rarely
+        for (int maxKeys : new int[] { 3, 4, 5, 8, WilnerBTree.DEFAULT_MAX_KEYS }) { //Odd and even node sizes
+            Random rnd = new Random(maxKeys); //Deterministic
+            WilnerBTree<Integer> tree = new WilnerBTree<>(maxKeys); //Tree under test
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            for (int step = 0; step < 30000; step++) { //Random operations
+                int k = rnd.nextInt(3000); //Key
+                String where = "maxKeys " + maxKeys + " step " + step; //Failure context
+                switch (rnd.nextInt(3)) { //Operation
+                    case 0: assertEquals(ref.add(k), tree.insert(k), where + " insert " + k); break; //Insert
+                    case 1: assertEquals(ref.remove(k), tree.delete(k), where + " delete " + k); break; //Delete
+                    default: assertEquals(ref.contains(k), tree.search(k), where + " search " + k); //Search
+                }
+                assertEquals(ref.size(), tree.getSize(), where); //Size
+                if (step % 1000 != 0) continue; //Structure checks now and then
+                assertEquals(new ArrayList<>(ref), tree.inorderList(), where); //Leaf chain in order
+                assertEquals(new ArrayList<>(ref), new ArrayList<>(tree), where); //Iterator agrees
+                List<Integer> pre = tree.preorderList(), post = tree.postorderList(); //Node-level walks
+                pre.sort(null); post.sort(null); //Same nodes, different order
+                assertEquals(pre, post, where); //Both visit every key of every node once
+                assertTrue(pre.size() >= ref.size(), where); //Leaves plus separators
+                double levels = Math.log(Math.max(ref.size(), 1)) / Math.log(maxKeys / 2 + 1); //Minimum fill bounds the height
+                assertTrue(tree.height() <= levels + 2, where + " height " + tree.height()); //Balanced
+            }
+        }
+    }
+
+    @Test
+    void traversalsAreNodeLevel() { //Preorder lists each node's keys before its children, postorder after them
+        WilnerBTree<Integer> tree = new WilnerBTree<>(3); //Tiny nodes
+        for (int k = 1; k <= 10; k++) tree.insert(k); //Root [7]; internals [3 5] and [9]; leaves [1 2] [3 4] [5 6] [7 8] [9 10]
+        assertEquals(3, tree.height()); //Three levels
+        assertEquals(List.of(7, 3, 5, 1, 2, 3, 4, 5, 6, 9, 7, 8, 9, 10), tree.preorderList()); //Parent first
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 3, 5, 7, 8, 9, 10, 9, 7), tree.postorderList()); //Children first
+        List<Integer> pre = new ArrayList<>(); //Consumer walk
+        tree.preorder(pre::add); //Same as the list
+        assertEquals(tree.preorderList(), pre); //Consistent
+        WilnerBTree<Integer> leaf = new WilnerBTree<>(); //Single leaf: all orders coincide
+        for (int k : new int[] { 3, 1, 2 }) leaf.insert(k); //Unsorted input
+        assertEquals(List.of(1, 2, 3), leaf.preorderList()); //Sorted leaf
+        assertEquals(List.of(1, 2, 3), leaf.postorderList()); //Same
+    }
+
+    @Test
+    void iteratorRemovesAndFailsFast() { //remove() re-finds its place after merges; foreign writes are detected
+        WilnerBTree<Integer> tree = new WilnerBTree<>(3); //Tiny nodes: every removal may borrow or merge
+        TreeSet<Integer> ref = new TreeSet<>(); //Reference
+        for (int k = 0; k < 500; k++) { tree.insert(k); ref.add(k); } //Ascending
+        for (Iterator<Integer> it = tree.iterator(); it.hasNext(); ) { Integer x = it.next(); if (x % 3 != 0) { it.remove(); ref.remove(x); } } //Keep multiples of three
+        assertEquals(new ArrayList<>(ref), tree.inorderList()); //Exactly those
+        assertEquals(ref.size(), tree.getSize()); //Counted
+        Iterator<Integer> it = tree.iterator(); //Fresh iterator
+        it.next(); //Started
+        tree.insert(1000); //Foreign write
+        assertThrows(ConcurrentModificationException.class, it::next); //Fail fast
+        assertThrows(IllegalArgumentException.class, () -> new WilnerBTree<Integer>(2)); //Fanout too small
+        Integer[] input = { 5, 3, 5, 1 }; //Duplicates
+        assertEquals(List.of(1, 3, 5), new WilnerBTree<>(input).inorderList()); //Array constructor
+    }
+}
@@ -0,0 +1,109 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+class WilnerBatchDriverTest { //Replayed logs checked against the same log applied to java.util.TreeSet
+    private static final String[] TREES = { "long", "int", "offheap", "avl", "bst", "btree", "concurrent", "persistent" }; //Every --tree name
+    private static final int KEYS = 300;  //Key space: small, so operations collide often
+    private static final int STEPS = 5000; //Operations per log
+
+    private static String replay(String tree, String log, boolean echo) throws IOException { //Run one log, return everything printed
+        ByteArrayOutputStream out = new ByteArrayOutputStream(); //Captured results
+        WilnerBatchDriver.Target target = WilnerBatchDriver.target(tree); //Tree under test
+        try { //Close the target even if a line is malformed
+            new WilnerBatchDriver(Channels.newChannel(new ByteArrayInputStream(log.getBytes(StandardCharsets.US_ASCII))), out, target, echo).run(); //Whole log
+        } finally { //Always
+            target.close(); //Off-heap memory
+        }
+        return out.toString(StandardCharsets.US_ASCII); //Output text
+    }
+
+    private static void keys(StringBuilder sb, Iterable<Long> keys) { //Same layout as the driver: each key followed by a space, then a newline
+        for (long k : keys) sb.append(k).append(' '); //Keys
+        sb.append('\n'); //End of line
+    }
+
+    @Test
+    void replayMatchesTreeSet() throws IOException { //search, range, inorder, size and --echo results are the same for every tree
+        for (boolean echo : new boolean[] { false, true }) { //With and without mutation results
+            Random rnd = new Random(echo ? 17 : 16); //Deterministic
+            StringBuilder log = new StringBuilder(), expected = new StringBuilder(); //Input and the TreeSet's answers
+            TreeSet<Long> ref = new TreeSet<>(); //Reference
+            for (int step = 0; step < STEPS; step++) { //Random operations
+                long k = rnd.nextInt(KEYS) - KEYS / 3; //Some negative keys
+                switch (rnd.nextInt(10)) { //Operation, long and short forms mixed
+                    case 0: case 1: case 2: log.append(rnd.nextBoolean() ? "insert " : "i ").append(k).append('\n'); if (echo) expected.append(ref.add(k)).append('\n'); else ref.add(k); break; //Insert
+                    case 3: case 4: log.append(rnd.nextBoolean() ? "delete " : "d ").append(k).append('\n'); if (echo) expected.append(ref.remove(k)).append('\n'); else ref.remove(k); break; //Delete
+                    case 5: case 6: log.append(rnd.nextBoolean() ? "search " : "s ").append(k).append('\n'); expected.append(ref.contains(k)).append('\n'); break; //Search
+                    case 7: { long hi = k + rnd.nextInt(60) - 10; log.append("range ").append(k).append(' ').append(hi).append('\n'); keys(expected, k > hi ? Collections.emptySet() : ref.subSet(k, true, hi, true)); break; } //Range, sometimes inverted
+                    case 8: log.append("size\n"); expected.append(ref.size()).append('\n'); break; //Size
+                    default: if (rnd.nextInt(10) == 0) { log.append("inorder\n"); keys(expected, ref); } else log.append(rnd.nextBoolean() ? "# comment\n" : "\n"); //Traversal, comment or blank line
+                }
+            }
+            for (String tree : TREES) assertEquals(expected.toString(), replay(tree, log.toString(), echo), tree + (echo ? " --echo" : "")); //Byte-for-byte equal
+        }
+    }
+
+    @Test
+    void traversalsFollowTheTreeShape() throws IOException { //preorder/postorder differ per tree, but must describe a valid search tree holding the same keys
+        StringBuilder log = new StringBuilder(); //Input
+        Random rnd = new Random(5); //Deterministic
+        TreeSet<Long> ref = new TreeSet<>(); //Reference
+        for (int i = 0; i < 2000; i++) { long k = rnd.nextInt(1000); log.append("insert ").append(k).append('\n'); ref.add(k); } //Random inserts
+        log.append("preorder\npostorder\n"); //Both traversals
+        for (String tree : TREES) { //btree prints separators too, so only the binary trees are checked here
+            if (tree.equals("btree")) continue; //B+-tree shape is covered by WilnerBTreeTest
+            String[] lines = replay(tree, log.toString(), false).split("\n"); //Two result lines
+            assertEquals(2, lines.length, tree); //Nothing else printed
+            List<Long> pre = new ArrayList<>(), post = new ArrayList<>(); //Parsed traversals
+            for (String s : lines[0].trim().split(" ")) pre.add(Long.parseLong(s)); //Preorder keys
+            for (String s : lines[1].trim().split(" ")) post.add(Long.parseLong(s)); //Postorder keys
+            assertEquals(ref, new TreeSet<>(pre), tree + " keys"); //Same contents
+            assertEquals(ref.size(), pre.size(), tree + " duplicates"); //Each key once
+            assertEquals(WilnerTreeShapes.checkPreorder(pre, !tree.equals("bst")), post, tree + " postorder"); //Same shape, balanced unless plain BST
+        }
+    }
+
+    @Test
+    void malformedLineReportsItsNumberAndKeepsEarlierOutput() throws IOException { //main() flushes what was produced before exiting
+        for (String bad : new String[] { "insert", "insert x", "insert 12x", "insert 1 2", "jump 3", "search 9223372036854775808" }) { //Missing, malformed, extra, unknown, overflow
+            ByteArrayOutputStream out = new ByteArrayOutputStream(); //Captured results
+            String log = "insert 1\nsearch 1\n# comment\n\n" + bad + "\nsearch 1\n"; //Failure on line 5
+            WilnerBatchDriver driver = new WilnerBatchDriver(Channels.newChannel(new ByteArrayInputStream(log.getBytes(StandardCharsets.US_ASCII))), out, WilnerBatchDriver.target("long"), false); //Driver
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, driver::run, bad); //Stops at the bad line
+            assertTrue(ex.getMessage().startsWith("line 5: "), ex.getMessage()); //Position reported
+            driver.flush(); //What main() does before exiting
+            assertEquals("true\n", out.toString(StandardCharsets.US_ASCII), bad); //Earlier result kept, later line not run
+        }
+    }
+
+    @Test
+    void extremesAndLineEndings() throws IOException { //Long.MIN_VALUE/MAX_VALUE, CRLF, tabs, no trailing newline, int clamping
+        String log = "insert -9223372036854775808\r\ninsert\t9223372036854775807\r\ni +5\nrange -9223372036854775808 9223372036854775807\nsize"; //Last line unterminated
+        for (String tree : TREES) { //Every long-keyed tree
+            if (tree.equals("int")) continue; //Checked below
+            assertEquals("-9223372036854775808 5 9223372036854775807 \n3\n", replay(tree, log, false), tree); //Extremes printed exactly
+        }
+        assertThrows(IllegalArgumentException.class, () -> replay("int", "insert 2147483648\n", false)); //Does not fit an int
+        assertEquals("true\ntrue\nfalse\nfalse\n-7 2147483647 \n", replay("int", "insert -7\ninsert 2147483647\nsearch 2147483648\ndelete -2147483649\nrange -9223372036854775808 9223372036854775807\n", true)); //Out-of-range keys are absent, range bounds clamp
+    }
+
+    @Test
+    void outputLargerThanTheBuffer() throws IOException { //Results spanning several 64 KiB drains arrive intact and in order
+        StringBuilder log = new StringBuilder(), expected = new StringBuilder(); //Input and answers
+        for (int i = 0; i < 30000; i++) log.append("insert ").append(i * 1000003L).append('\n'); //Wide keys
+        log.append("inorder\n"); //~250 KB line
+        for (int i = 0; i < 30000; i++) expected.append(i * 1000003L).append(' '); //Same keys
+        expected.append('\n'); //End of line
+        assertEquals(expected.toString(), replay("avl", log.toString(), false)); //Nothing lost at drain boundaries
+    }
+
+    @Test
+    void unknownTreeName() { //Typo in --tree
+        assertThrows(IllegalArgumentException.class, () -> WilnerBatchDriver.target("redblack")); //Rejected
+    }
+}
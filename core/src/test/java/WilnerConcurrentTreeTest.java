@@ -0,0 +1,102 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import org.junit.jupiter.api.*;
+
+class WilnerConcurrentTreeTest { //WilnerConcurrentTree against java.util.TreeSet, alone and under contention
+    @Test
+    void singleThreadMatchesTreeSet() { //Results, contents and AVL shape after every kind of write
+        Random rnd = new Random(8); //Deterministic
+        WilnerConcurrentTree<Integer> tree = new WilnerConcurrentTree<>(); //Tree under test
+        TreeSet<Integer> ref = new TreeSet<>(); //Reference
+        for (int step = 0; step < 20000; step++) { //Random operations
+            int k = rnd.nextInt(2000); //Key
+            switch (rnd.nextInt(3)) { //Operation
+                case 0: assertEquals(ref.add(k), tree.insert(k), "insert " + k); break; //Insert
+                case 1: assertEquals(ref.remove(k), tree.delete(k), "delete " + k); break; //Delete
+                default: assertEquals(ref.contains(k), tree.search(k), "search " + k); //Search
+            }
+            assertEquals(ref.size(), tree.getSize()); //Size published with the root
+            if (step % 1000 == 0) { //Shape now and then
+                assertEquals(new ArrayList<>(ref), tree.inorderList()); //Contents
+                assertEquals(WilnerTreeShapes.checkPreorder(tree.preorderList(), true), tree.postorderList()); //Balanced, consistent traversals
+            }
+        }
+        tree.clear(); //Empty version
+        assertEquals(0, tree.getSize()); //Nothing left
+        assertTrue(tree.inorderList().isEmpty()); //Really nothing
+    }
+
+    @Test
+    void constructorsBuildBalancedTreesAndLeaveTheInputAlone() { //One balanced build, duplicates collapsed, caller's array unchanged
+        Integer[] input = new Integer[5000]; //Descending with duplicates
+        for (int i = 0; i < input.length; i++) input[i] = (input.length - i) / 2; //Each key twice (except the last)
+        Integer[] copy = input.clone(); //To check the input is untouched
+        TreeSet<Integer> ref = new TreeSet<>(Arrays.asList(input)); //Distinct keys
+        for (WilnerConcurrentTree<Integer> tree : List.of(new WilnerConcurrentTree<>(input), new WilnerConcurrentTree<>(Arrays.asList(input)))) { //Both constructors
+            assertEquals(ref.size(), tree.getSize()); //Duplicates collapse as with insert()
+            assertEquals(new ArrayList<>(ref), tree.inorderList()); //Sorted contents
+            WilnerTreeShapes.checkPreorder(tree.preorderList(), true); //Balanced
+            assertTrue(tree.insert(-1) && !tree.insert(0)); //Writable afterwards
+        }
+        assertArrayEquals(copy, input); //Not sorted in place
+        assertEquals(0, new WilnerConcurrentTree<>(new Integer[0]).getSize()); //Empty input
+    }
+
+    @Test
+    void snapshotsAndIteratorsKeepTheirVersion() { //Later writes are invisible to earlier snapshots and iterators
+        WilnerConcurrentTree<Integer> tree = new WilnerConcurrentTree<>(new Integer[] { 1, 2, 3, 4, 5 }); //Small tree
+        WilnerTreeSnapshot<Integer> snap = tree.snapshot(); //Frozen version
+        Iterator<Integer> it = tree.iterator(); //Iterates the same version
+        tree.insert(6); tree.delete(1); //Change the live tree
+        assertEquals(List.of(1, 2, 3, 4, 5), snap.inorderList()); //Snapshot unchanged
+        assertEquals(5, snap.getSize()); //Size unchanged
+        List<Integer> seen = new ArrayList<>(); //Iterator output
+        while (it.hasNext()) { Integer x = it.next(); seen.add(x); if (x == 3) it.remove(); } //No ConcurrentModificationException
+        assertEquals(List.of(1, 2, 3, 4, 5), seen); //Old version
+        assertEquals(List.of(2, 4, 5, 6), tree.inorderList()); //Both writes plus the iterator removal
+        assertThrows(UnsupportedOperationException.class, () -> snap.insert(7)); //Read-only
+    }
+
+    @Test
+    void concurrentWritersLoseNothing() throws Exception { //Every CAS retry rebuilds on the latest version, so no write is lost
+        int threads = 4, perThread = 5000; //Disjoint key ranges per thread
+        WilnerConcurrentTree<Integer> tree = new WilnerConcurrentTree<>(); //Shared tree
+        AtomicBoolean torn = new AtomicBoolean(); //Set if a reader sees size and contents from different versions
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1); //Writers plus one reader
+        try { //Always stop the pool
+            CountDownLatch start = new CountDownLatch(1); //Release everyone at once
+            List<Future<?>> writers = new ArrayList<>(); //Writer results
+            for (int t = 0; t < threads; t++) { //Writers
+                int base = t * perThread; //This thread's range
+                writers.add(pool.submit(() -> { //Insert the whole range, then delete the odd keys
+                    start.await(); //Contend from the start
+                    for (int k = base; k < base + perThread; k++) assertTrue(tree.insert(k)); //Every insert is new
+                    for (int k = base + 1; k < base + perThread; k += 2) assertTrue(tree.delete(k)); //Every delete hits
+                    return null; //Callable, so assertions propagate
+                }));
+            }
+            Future<?> reader = pool.submit(() -> { //Checks that each snapshot is internally consistent
+                start.await(); //Run alongside the writers
+                while (!writers.stream().allMatch(Future::isDone)) { //Until the writers finish
+                    WilnerTreeSnapshot<Integer> s = tree.snapshot(); //One version
+                    if (s.inorderList().size() != s.getSize()) torn.set(true); //Root and size must match
+                }
+                return null; //Done
+            });
+            start.countDown(); //Go
+            for (Future<?> w : writers) w.get(60, TimeUnit.SECONDS); //Rethrows assertion failures
+            reader.get(60, TimeUnit.SECONDS); //Reader finished
+        } finally { //Even when an assertion failed
+            pool.shutdownNow(); //Release the threads
+        }
+        assertFalse(torn.get(), "reader saw a torn version"); //Consistent versions only
+        List<Integer> expected = new ArrayList<>(); //Even keys of every range
+        for (int k = 0; k < threads * perThread; k += 2) expected.add(k); //Ascending
+        assertEquals(expected, tree.inorderList()); //Nothing lost, nothing extra
+        assertEquals(expected.size(), tree.getSize()); //Size agrees
+        WilnerTreeShapes.checkPreorder(tree.preorderList(), true); //Still balanced
+    }
+}
@@ -0,0 +1,138 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.*;
+import org.junit.jupiter.api.*;
+
+class WilnerNavigableSetTest { //Range views of the BST and AVL trees
+    private static final int KEYS = 200;   //Key space: small, so operations collide often
+    private static final int STEPS = 4000; //Operations per sequence
+
+    private static List<WilnerNavigableTree<Integer>> trees() { //One of each implementation, holding 0, 10, ..., 90
+        List<WilnerNavigableTree<Integer>> trees = List.of(new WilnerBinarySearchTree<>(), new WilnerAVLTree<>()); //Implementations under test
+        for (WilnerNavigableTree<Integer> t : trees) for (int k = 0; k < 100; k += 10) t.add(k); //Same contents
+        return trees; //Filled trees
+    }
+
+    @Test
+    void emptyPointRangesHaveSizeZero() { //(k, k), [k, k) and (k, k] are empty even when k is present
+        for (WilnerNavigableTree<Integer> t : trees()) { //Each implementation
+            for (NavigableSet<Integer> view : List.of(t.subSet(50, false, 50, false), t.subSet(50, true, 50, false), t.subSet(50, false, 50, true), //Open at one or both ends
+                                                      t.descendingSet().subSet(50, false, 50, false), t.subSet(55, false, 55, false))) { //Reversed view, absent key
+                assertEquals(0, view.size(), "size of " + view); //Used to be -1
+                assertTrue(view.isEmpty()); //Agrees with size
+                assertEquals(0, view.toArray().length); //Used to throw NegativeArraySizeException
+                assertEquals(List.of(), new ArrayList<>(view)); //Likewise
+            }
+            assertEquals(1, t.subSet(50, true, 50, true).size()); //Closed point range holds k
+        }
+    }
+
+    @Test
+    void invertedBoundsAreRejectedOrEmpty() { //from > to is an error at the top level; nested views cannot escape their parent
+        for (WilnerNavigableTree<Integer> t : trees()) { //Each implementation
+            assertThrows(IllegalArgumentException.class, () -> t.subSet(60, true, 40, true)); //Inverted range
+            assertThrows(IllegalArgumentException.class, () -> t.headSet(30, true).tailSet(70, true)); //Outside the parent view
+            NavigableSet<Integer> reversed = t.descendingSet().subSet(60, true, 40, true); //Inverted only in natural order
+            assertEquals(List.of(60, 50, 40), new ArrayList<>(reversed)); //Descending contents
+            assertEquals(3, reversed.size()); //Counted on the natural-order bounds
+        }
+    }
+
+    private static List<Supplier<WilnerNavigableTree<Integer>>> configurations() { //Every tree mode worth telling apart
+        return List.of(WilnerBinarySearchTree::new, WilnerAVLTree::new, //Plain trees
+                       () -> { WilnerBinarySearchTree<Integer> t = new WilnerBinarySearchTree<>(); t.setOrderStatistics(true); return t; }, //Counted BST
+                       () -> { WilnerAVLTree<Integer> t = new WilnerAVLTree<>(); t.setOrderStatistics(true); t.setFingerSearch(true); return t; }, //Counted AVL with finger
+                       () -> { WilnerAVLTree<Integer> t = new WilnerAVLTree<>(); t.setAccessCache(16); t.setWriteBuffer(32); return t; }); //Buffered AVL with cache
+    }
+
+    private static NavigableSet<Integer> randomView(NavigableSet<Integer> set, int[] bounds) { //Same random view of set, driven by bounds chosen once
+        switch (bounds[0]) { //View kind
+            case 0: return set.subSet(bounds[1], bounds[3] == 1, bounds[2], bounds[4] == 1); //Both bounds
+            case 1: return set.headSet(bounds[2], bounds[4] == 1); //Upper bound
+            case 2: return set.tailSet(bounds[1], bounds[3] == 1); //Lower bound
+            case 3: return set.descendingSet().subSet(bounds[2], bounds[4] == 1, bounds[1], bounds[3] == 1); //Reversed, both bounds
+            default: return set.subSet(bounds[1], bounds[3] == 1, bounds[2], bounds[4] == 1).descendingSet(); //Bounded, then reversed
+        }
+    }
+
+    private static int[] randomBounds(Random rnd) { //View kind, lo <= hi, and inclusiveness; lo == hi is common on purpose
+        int a = rnd.nextInt(KEYS + 20) - 10, b = rnd.nextInt(8) == 0 ? a : rnd.nextInt(KEYS + 20) - 10; //Bounds may fall outside the key space
+        return new int[] { rnd.nextInt(5), Math.min(a, b), Math.max(a, b), rnd.nextInt(2), rnd.nextInt(2) }; //Kind, lo, hi, loInclusive, hiInclusive
+    }
+
+    private static void assertSameView(NavigableSet<Integer> expected, NavigableSet<Integer> actual, Random rnd, String where) { //Contents, size and navigation agree
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(actual), where); //Iteration order
+        assertEquals(expected.size(), actual.size(), where); //Size
+        assertEquals(expected.isEmpty(), actual.isEmpty(), where); //Emptiness
+        assertEquals(new ArrayList<>(expected.descendingSet()), new ArrayList<>(actual.descendingSet()), where); //Reverse iteration
+        if (!expected.isEmpty()) { assertEquals(expected.first(), actual.first(), where); assertEquals(expected.last(), actual.last(), where); } //Ends
+        for (int j = 0; j < 4; j++) { //A few probes
+            int k = rnd.nextInt(KEYS + 20) - 10; //Probe key
+            assertEquals(expected.contains(k), actual.contains(k), where + " contains " + k); //Membership
+            if (expected.isEmpty()) continue; //Navigation is only meaningful inside the range
+            assertEquals(expected.lower(k), actual.lower(k), where + " lower " + k);     //Strictly before
+            assertEquals(expected.floor(k), actual.floor(k), where + " floor " + k);     //At or before
+            assertEquals(expected.ceiling(k), actual.ceiling(k), where + " ceiling " + k); //At or after
+            assertEquals(expected.higher(k), actual.higher(k), where + " higher " + k);   //Strictly after
+        }
+    }
+
+    @Test
+    void navigableViewsMatchTreeSet() { //Views stay live and correct while the tree changes underneath
+        for (Supplier<WilnerNavigableTree<Integer>> config : configurations()) { //Each mode
+            for (long seed = 0; seed < 8; seed++) { //A few sequences per mode
+                Random rnd = new Random(seed); //Deterministic
+                WilnerNavigableTree<Integer> tree = config.get(); //Tree under test
+                TreeSet<Integer> ref = new TreeSet<>(); //Reference
+                WilnerAVLTree<Integer> buffered = tree instanceof WilnerAVLTree && ((WilnerAVLTree<Integer>)tree).getWriteBufferCapacity() > 0 ? (WilnerAVLTree<Integer>)tree : null; //Also write through the batch merge
+                for (int step = 0; step < STEPS; step++) { //Random operations
+                    int k = rnd.nextInt(KEYS); //Key
+                    String where = tree.getClass().getName() + " seed " + seed + " step " + step; //Failure context
+                    switch (rnd.nextInt(6)) { //Operation
+                        case 0: if (buffered != null) { ref.add(k); buffered.bufferInsert(k); break; } //No result: applied by the next read
+                                assertEquals(ref.add(k), tree.add(k), where + " add " + k); break; //Insert
+                        case 1: assertEquals(ref.add(k), tree.add(k), where + " add " + k); break; //Insert
+                        case 2: assertEquals(ref.remove(k), tree.remove(k), where + " remove " + k); break; //Delete
+                        case 3: assertEquals(ref.pollFirst(), tree.pollFirst(), where + " pollFirst"); break; //Remove smallest
+                        case 4: { //Exercise a view
+                            int[] bounds = randomBounds(rnd); //Same view on both sides
+                            NavigableSet<Integer> expected = randomView(ref, bounds), actual = randomView(tree, bounds); //Views
+                            assertSameView(expected, actual, rnd, where + " view " + Arrays.toString(bounds)); //Compare
+                            if (!expected.isEmpty() && rnd.nextBoolean()) assertEquals(expected.pollFirst(), actual.pollFirst(), where + " view pollFirst"); //Write through the view
+                            break; //Done
+                        }
+                        default: { //Remove through an iterator
+                            Iterator<Integer> it = tree.iterator(), refIt = ref.iterator(); //Same order
+                            int skip = ref.isEmpty() ? 0 : rnd.nextInt(ref.size()); //Position to remove
+                            for (int j = 0; j <= skip && refIt.hasNext(); j++) assertEquals(refIt.next(), it.next(), where); //Walk together
+                            if (!ref.isEmpty()) { refIt.remove(); it.remove(); } //Remove the same element
+                        }
+                    }
+                }
+                assertEquals(new ArrayList<>(ref), tree.inorderList()); //Final contents
+            }
+        }
+    }
+
+    private static final class Counted implements Comparable<Counted> { //Key that counts its comparisons
+        static long compares; //compareTo calls so far
+        final int v; //Value
+        Counted(int v) { this.v = v; } //Constructor
+        @Override
+        public int compareTo(Counted o) { compares++; return Integer.compare(v, o.v); } //Count, then compare
+    }
+
+    @Test
+    void viewSizeWithoutCountsIsProportionalToTheView() { //O(log n + k): the walk starts at the view's lower bound, not at the first element
+        for (WilnerBinarySearchTree<Counted> t : List.of(new WilnerBinarySearchTree<Counted>(), new WilnerAVLTree<Counted>())) { //Counts off
+            Counted[] keys = new Counted[100_000]; //Large tree
+            for (int i = 0; i < keys.length; i++) keys[i] = new Counted(i); //Ascending
+            t.bulkLoad(keys); //Balanced
+            Counted.compares = 0; //Start counting
+            assertEquals(10, t.tailSet(new Counted(99_990), true).size()); //Top ten
+            assertEquals(5, t.subSet(new Counted(90_000), true, new Counted(90_005), false).size()); //Five in the upper part
+            assertTrue(Counted.compares < 500, "compares: " + Counted.compares); //Used to be 280000
+        }
+    }
+}
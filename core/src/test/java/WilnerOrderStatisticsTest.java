@@ -0,0 +1,86 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.*;
+import org.junit.jupiter.api.*;
+
+class WilnerOrderStatisticsTest { //rank, select, get and countInRange against java.util.TreeSet
+    private static final int KEYS = 200;   //Key space: small, so operations collide often
+    private static final int STEPS = 4000; //Operations per sequence
+
+    private static List<Supplier<WilnerBinarySearchTree<Integer>>> configurations() { //With and without subtree counts
+        return List.of(WilnerBinarySearchTree::new, WilnerAVLTree::new, //Counts off: answers come from iteration
+                       () -> { WilnerBinarySearchTree<Integer> t = new WilnerBinarySearchTree<>(); t.setOrderStatistics(true); return t; }, //Counted BST
+                       () -> { WilnerAVLTree<Integer> t = new WilnerAVLTree<>(); t.setOrderStatistics(true); t.setFingerSearch(true); return t; }, //Counted AVL with finger inserts
+                       () -> { WilnerAVLTree<Integer> t = new WilnerAVLTree<>(); t.setOrderStatistics(true); t.setAccessCache(16); t.setWriteBuffer(32); return t; }); //Counted, buffered AVL
+    }
+
+    private static void assertStatistics(TreeSet<Integer> ref, WilnerBinarySearchTree<Integer> tree, Random rnd, String where) { //Every statistic at a random probe
+        List<Integer> sorted = new ArrayList<>(ref); //Positions
+        int probe = rnd.nextInt(KEYS + 20) - 10, other = rnd.nextInt(KEYS + 20) - 10; //Probes, possibly outside the keys
+        assertEquals(ref.headSet(probe, false).size(), tree.rank(probe), where + " rank " + probe); //Elements below
+        assertEquals(probe <= other ? ref.subSet(probe, true, other, true).size() : 0, tree.countInRange(probe, other), where + " countInRange " + probe + ".." + other); //Closed range, empty when inverted
+        if (!sorted.isEmpty()) { //Positional access
+            int i = rnd.nextInt(sorted.size()); //Random position
+            assertEquals(sorted.get(i), tree.select(i), where + " select " + i); //k-th smallest
+            assertEquals(sorted.get(i), tree.get(i), where + " get " + i); //Same thing
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(sorted.size()), where); //Past the end
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(-1), where); //Before the start
+    }
+
+    @Test
+    void statisticsMatchTreeSet() { //Counts stay exact through inserts and deletes
+        for (Supplier<WilnerBinarySearchTree<Integer>> config : configurations()) { //Each mode
+            Random rnd = new Random(7); //Deterministic
+            WilnerBinarySearchTree<Integer> tree = config.get(); //Tree under test
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            WilnerAVLTree<Integer> buffered = tree instanceof WilnerAVLTree && ((WilnerAVLTree<Integer>)tree).getWriteBufferCapacity() > 0 ? (WilnerAVLTree<Integer>)tree : null; //Counts must survive the batch merge
+            for (int step = 0; step < STEPS; step++) { //Random operations
+                int k = rnd.nextInt(KEYS); //Key
+                boolean delete = rnd.nextInt(3) == 0; //Operation
+                if (buffered != null && rnd.nextBoolean()) { if (delete) { ref.remove(k); buffered.bufferDelete(k); } else { ref.add(k); buffered.bufferInsert(k); } } //No result: applied by the next statistic
+                else if (delete) assertEquals(ref.remove(k), tree.remove(k)); //Delete
+                else assertEquals(ref.add(k), tree.add(k)); //Insert
+                if (step % 10 == 0) assertStatistics(ref, tree, rnd, tree.getClass().getName() + " step " + step); //Check every tenth step
+            }
+        }
+    }
+
+    @Test
+    void countsSurviveOtherWritePaths() { //pollFirst/pollLast, iterator removal, bulk operations, and counts switched on late
+        for (Supplier<WilnerBinarySearchTree<Integer>> config : configurations()) { //Each mode
+            Random rnd = new Random(11); //Deterministic
+            WilnerBinarySearchTree<Integer> tree = config.get(); //Tree under test
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            for (int step = 0; step < 400; step++) { //Random operations
+                String where = tree.getClass().getName() + " step " + step; //Failure context
+                switch (rnd.nextInt(7)) { //Operation
+                    case 0: assertEquals(ref.pollFirst(), tree.pollFirst(), where); break; //Smallest
+                    case 1: assertEquals(ref.pollLast(), tree.pollLast(), where); break; //Largest
+                    case 2: { //Iterator removal of every third element
+                        Iterator<Integer> it = tree.iterator(); //Tree iterator
+                        for (int i = 0; it.hasNext(); i++) { Integer x = it.next(); if (i % 3 == 0) { it.remove(); ref.remove(x); } } //Remove
+                        break; //Done
+                    }
+                    case 3: { List<Integer> c = randomKeys(rnd); assertEquals(ref.addAll(c), tree.addAll(c), where + " addAll"); break; } //Union
+                    case 4: { List<Integer> c = randomKeys(rnd); assertEquals(ref.removeAll(c), tree.removeAll(c), where + " removeAll"); break; } //Difference
+                    case 5: { List<Integer> c = randomKeys(rnd); c.addAll(ref.headSet(KEYS / 2)); assertEquals(ref.retainAll(c), tree.retainAll(c), where + " retainAll"); break; } //Intersection
+                    default: tree.setOrderStatistics(false); tree.add(rnd.nextInt(KEYS)); tree.setOrderStatistics(true); ref.clear(); ref.addAll(tree); //Counts go stale, then are rebuilt
+                }
+                assertStatistics(ref, tree, rnd, where); //Still exact
+            }
+            Integer[] sorted = new Integer[KEYS]; //Bulk load replaces everything
+            for (int i = 0; i < KEYS; i++) sorted[i] = 2 * i; //Even keys
+            tree.bulkLoad(sorted); //Balanced build sets counts too
+            ref.clear(); ref.addAll(Arrays.asList(sorted)); //Same contents
+            for (int i = 0; i < 20; i++) assertStatistics(ref, tree, rnd, tree.getClass().getName() + " after bulkLoad"); //Exact
+        }
+    }
+
+    private static List<Integer> randomKeys(Random rnd) { //Up to 60 keys, duplicates included
+        List<Integer> keys = new ArrayList<>(); //Result
+        for (int i = rnd.nextInt(60); i > 0; i--) keys.add(rnd.nextInt(KEYS)); //Random
+        return keys; //Unsorted on purpose
+    }
+}
@@ -0,0 +1,65 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+class WilnerPersistentAVLTreeTest { //WilnerPersistentAVLTree and its snapshots against java.util.TreeSet
+    @Test
+    void everySnapshotKeepsItsVersion() { //Snapshots taken along a random sequence still match the TreeSet copies taken with them
+        Random rnd = new Random(9); //Deterministic
+        WilnerPersistentAVLTree<Integer> tree = new WilnerPersistentAVLTree<>(); //Tree under test
+        TreeSet<Integer> ref = new TreeSet<>(); //Reference
+        List<WilnerTreeSnapshot<Integer>> snapshots = new ArrayList<>(); //Frozen versions
+        List<List<Integer>> expected = new ArrayList<>(); //Their contents
+        for (int step = 0; step < 20000; step++) { //Random operations
+            int k = rnd.nextInt(2000); //Key
+            switch (rnd.nextInt(3)) { //Operation
+                case 0: assertEquals(ref.add(k), tree.insert(k), "insert " + k); break; //Insert
+                case 1: assertEquals(ref.remove(k), tree.delete(k), "delete " + k); break; //Delete
+                default: assertEquals(ref.contains(k), tree.search(k), "search " + k); //Search
+            }
+            assertEquals(ref.size(), tree.getSize()); //Size
+            if (step % 500 == 0) { snapshots.add(tree.snapshot()); expected.add(new ArrayList<>(ref)); } //Freeze a version
+            if (step == 10000) tree.clear(); //Snapshots survive clear() too
+            if (step == 10000) ref.clear(); //Same for the reference
+        }
+        assertEquals(new ArrayList<>(ref), tree.inorderList()); //Live contents
+        assertEquals(WilnerTreeShapes.checkPreorder(tree.preorderList(), true), tree.postorderList()); //Balanced, consistent traversals
+        for (int i = 0; i < snapshots.size(); i++) { //Every frozen version
+            WilnerTreeSnapshot<Integer> s = snapshots.get(i); //Snapshot
+            assertEquals(expected.get(i), s.inorderList(), "snapshot " + i); //Contents unchanged by later writes
+            assertEquals(expected.get(i).size(), s.getSize(), "snapshot " + i); //Size too
+            WilnerTreeShapes.checkPreorder(s.preorderList(), true); //Nodes were never mutated in place
+            for (Integer x : expected.get(i)) assertTrue(s.search(x)); //Searchable
+        }
+    }
+
+    @Test
+    void arrayConstructorBuildsBalancedTree() { //One balanced build; duplicates collapse; caller's array unchanged
+        Integer[] input = new Integer[3001]; //Ascending with duplicates: worst case for one-by-one inserts
+        for (int i = 0; i < input.length; i++) input[i] = i / 3; //Each key three times
+        Integer[] copy = input.clone(); //To check the input is untouched
+        WilnerPersistentAVLTree<Integer> tree = new WilnerPersistentAVLTree<>(input); //Tree under test
+        assertEquals(1001, tree.getSize()); //Distinct keys
+        assertEquals(new ArrayList<>(new TreeSet<>(Arrays.asList(input))), tree.inorderList()); //Sorted contents
+        WilnerTreeShapes.checkPreorder(tree.preorderList(), true); //Balanced
+        assertArrayEquals(copy, input); //Not sorted in place
+        assertTrue(tree.insert(5000) && tree.delete(0) && !tree.search(0)); //Writable afterwards
+        assertEquals(0, new WilnerPersistentAVLTree<>(new Integer[0]).getSize()); //Empty input
+    }
+
+    @Test
+    void iteratorKeepsItsVersion() { //Writes during iteration never throw, and the iterator sees the version it started on
+        WilnerPersistentAVLTree<Integer> tree = new WilnerPersistentAVLTree<>(new Integer[] { 1, 2, 3, 4 }); //Small tree
+        List<Integer> seen = new ArrayList<>(); //Iterator output
+        for (Iterator<Integer> it = tree.iterator(); it.hasNext(); ) { //Old version
+            Integer x = it.next(); //Element
+            seen.add(x); //Record
+            if (x % 2 == 0) it.remove(); //Remove from the live tree
+            tree.insert(10 + x); //Insert into the live tree
+        }
+        assertEquals(List.of(1, 2, 3, 4), seen); //Unaffected by the writes
+        assertEquals(List.of(1, 3, 11, 12, 13, 14), tree.inorderList()); //All writes applied
+        assertThrows(UnsupportedOperationException.class, () -> tree.snapshot().delete(1)); //Snapshots are read-only
+    }
+}
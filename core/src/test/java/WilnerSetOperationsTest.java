@@ -0,0 +1,70 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+class WilnerSetOperationsTest { //Join-based addAll/retainAll/removeAll of WilnerAVLTree against java.util.TreeSet
+    private static List<Integer> randomKeys(Random rnd, int n, int range) { //n keys in [0, range), duplicates included
+        List<Integer> keys = new ArrayList<>(n); //Result
+        for (int i = 0; i < n; i++) keys.add(rnd.nextInt(range)); //Random
+        return keys; //Unsorted
+    }
+
+    private static Collection<Integer> asSource(List<Integer> keys, int kind) { //Same elements as different collection types
+        switch (kind) { //Each type takes a different path into the split/join code
+            case 0: return keys; //List with duplicates: copied into a temporary balanced tree
+            case 1: return new TreeSet<>(keys); //Sorted set: sorted-input fast path
+            case 2: { WilnerAVLTree<Integer> t = new WilnerAVLTree<>(); t.addAll(keys); return t; } //Another AVL tree: read in place
+            default: { WilnerAVLTree<Integer> t = new WilnerAVLTree<>(); t.setWriteBuffer(16); for (Integer k : keys) t.bufferInsert(k); return t; } //Buffered tree, duplicates still pending: flushed first
+        }
+    }
+
+    private static void assertSame(TreeSet<Integer> ref, WilnerAVLTree<Integer> tree, String where) { //Contents, size and AVL shape
+        assertEquals(new ArrayList<>(ref), tree.inorderList(), where); //Contents
+        assertEquals(ref.size(), tree.getSize(), where); //Size
+        WilnerTreeShapes.checkPreorder(tree.preorderList(), true); //Joins keep the tree balanced
+    }
+
+    @Test
+    void setOperationsMatchTreeSet() { //Random mixes of small and large operands, sequential and forked
+        for (int size : new int[] { 50, 30000 }) { //30000 keys give subtrees tall enough to fork
+            Random rnd = new Random(size); //Deterministic
+            WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Tree under test
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            for (int step = 0; step < 40; step++) { //Random operations
+                List<Integer> keys = randomKeys(rnd, rnd.nextInt(size), 2 * size); //Operand, sometimes empty
+                Collection<Integer> c = asSource(keys, rnd.nextInt(4)); //Operand type
+                String where = "size " + size + " step " + step + " " + c.getClass().getName(); //Failure context
+                switch (rnd.nextInt(3)) { //Operation
+                    case 0: assertEquals(ref.addAll(keys), tree.addAll(c), where + " addAll"); break; //Union
+                    case 1: assertEquals(ref.removeAll(new HashSet<>(keys)), tree.removeAll(c), where + " removeAll"); break; //Difference
+                    default: keys.addAll(ref.headSet(size)); c = asSource(keys, rnd.nextInt(4)); assertEquals(ref.retainAll(keys), tree.retainAll(c), where + " retainAll"); //Intersection, keeping about half
+                }
+                assertSame(ref, tree, where); //Exact
+                if (c instanceof WilnerAVLTree) assertEquals(new ArrayList<>(new TreeSet<>(keys)), ((WilnerAVLTree<Integer>)c).inorderList(), where + " operand changed"); //The other tree is only read
+            }
+        }
+    }
+
+    @Test
+    void degenerateOperands() { //Self, empty, metrics attached (sequential path) and incomparable elements
+        WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Tree under test
+        for (int k = 0; k < 100; k++) tree.add(k); //0..99
+        assertFalse(tree.addAll(tree)); //Union with itself changes nothing
+        assertFalse(tree.retainAll(tree)); //Intersection with itself changes nothing
+        assertFalse(tree.addAll(List.of())); //Empty union
+        assertFalse(tree.removeAll(List.of())); //Empty difference
+        assertEquals(100, tree.getSize()); //Unchanged
+        tree.setMetrics(new WilnerTreeMetrics(false)); //Counters are not thread-safe, so nothing forks
+        assertTrue(tree.removeAll(List.of(1, 2, 3, 1000))); //Three hits
+        assertEquals(97, tree.getSize()); //Counted
+        List<Object> mixed = new ArrayList<>(List.of(4, 5, "six")); //Not all comparable with Integer
+        @SuppressWarnings("unchecked")
+        Collection<Integer> incomparable = (Collection<Integer>)(Collection<?>)mixed; //Heap pollution on purpose
+        assertTrue(tree.retainAll(incomparable)); //Element-by-element fallback
+        assertEquals(List.of(4, 5), tree.inorderList()); //Only the common elements
+        assertTrue(tree.removeAll(tree)); //Difference with itself empties the tree
+        assertEquals(0, tree.getSize()); //Empty
+        assertFalse(tree.retainAll(List.of(1))); //Nothing to remove
+    }
+}
@@ -0,0 +1,128 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.*;
+import org.junit.jupiter.api.*;
+
+class WilnerSpliteratorTest { //Split trees of spliterators checked against java.util.TreeSet
+    private static final int KEYS = 5000; //Key space
+
+    private static WilnerBinarySearchTree<Integer> tree(int variant, TreeSet<Integer> ref, int n, long seed) { //Random tree of one configuration, mirrored into ref
+        WilnerBinarySearchTree<Integer> tree = variant < 2 ? new WilnerBinarySearchTree<>() : new WilnerAVLTree<>(); //Unbalanced and balanced shapes
+        tree.setOrderStatistics(variant % 2 == 1); //Exact and estimated splits
+        Random rnd = new Random(seed); //Deterministic
+        for (int i = 0; i < n; i++) { int k = rnd.nextInt(KEYS); tree.insert(k); ref.add(k); } //Random inserts
+        for (int i = 0; i < n / 4; i++) { int k = rnd.nextInt(KEYS); tree.delete(k); ref.remove(k); } //Some deletes
+        return tree; //Ready
+    }
+
+    private static void splitAll(Spliterator<Integer> s, int depth, List<Spliterator<Integer>> leaves) { //Split recursively; leaves end up in encounter order
+        Spliterator<Integer> prefix = depth > 0 ? s.trySplit() : null; //Prefix comes first
+        if (prefix == null) { leaves.add(s); return; } //Leaf
+        splitAll(prefix, depth - 1, leaves); //Earlier elements
+        splitAll(s, depth - 1, leaves); //Later elements
+    }
+
+    @Test
+    void splitsPartitionTheTreeInOrder() { //Disjoint, ordered pieces whose concatenation is the TreeSet's contents
+        for (int variant = 0; variant < 4; variant++) { //BST/AVL x counts off/on
+            for (int n : new int[] { 0, 1, 2, 3, 10, 1000 }) { //Empty, tiny and larger trees
+                for (int depth : new int[] { 1, 3, 64 }) { //One split, a few, and all the way down
+                    String where = "variant " + variant + " n " + n + " depth " + depth; //Failure context
+                    TreeSet<Integer> ref = new TreeSet<>(); //Reference
+                    WilnerBinarySearchTree<Integer> tree = tree(variant, ref, n, n * 7 + variant); //Tree under test
+                    Spliterator<Integer> root = tree.spliterator(); //Whole tree
+                    assertEquals(ref.size(), root.estimateSize(), where + " unsplit size"); //Always exact before splitting
+                    assertTrue(root.hasCharacteristics(Spliterator.SIZED), where + " unsplit SIZED"); //Whole tree is counted
+                    List<Spliterator<Integer>> leaves = new ArrayList<>(); //Pieces in encounter order
+                    int before = tree.modCount; //Splitting must not change the tree
+                    splitAll(root, depth, leaves); //Split
+                    assertEquals(before, tree.modCount, where + " splitting modified the tree"); //Read-only
+                    List<Integer> all = new ArrayList<>(); //Concatenated pieces
+                    Random rnd = new Random(depth); //Mixes the two traversal styles
+                    for (Spliterator<Integer> leaf : leaves) { //Each piece
+                        List<Integer> piece = new ArrayList<>(); //Its elements
+                        long estimate = leaf.estimateSize(); //Before traversal
+                        if (rnd.nextBoolean()) leaf.forEachRemaining(piece::add); //Bulk
+                        else { while (leaf.tryAdvance(piece::add)) {} } //One at a time
+                        assertFalse(leaf.tryAdvance(e -> fail(where + " element after exhaustion")), where); //Stays exhausted
+                        if (tree.orderStatistics) { //Counts make every split exact
+                            assertEquals(piece.size(), estimate, where + " exact estimate"); //SIZED means exact
+                            assertTrue(leaf.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), where + " SUBSIZED"); //Reported
+                        } else if (leaves.size() > 1) assertFalse(leaf.hasCharacteristics(Spliterator.SIZED), where + " estimated pieces are not SIZED"); //Halved estimates are guesses
+                        if (depth == 64) assertTrue(piece.size() <= 1, where + " unsplittable piece of " + piece.size()); //Fully split: at most one element left
+                        assertEquals(0, leaf.estimateSize(), where + " consumed"); //Nothing remaining
+                        all.addAll(piece); //Encounter order
+                    }
+                    assertEquals(new ArrayList<>(ref), all, where); //Disjoint, complete and ordered
+                }
+            }
+        }
+    }
+
+    @Test
+    void characteristics() { //Sorted by natural order, distinct, non-null
+        for (int variant = 0; variant < 4; variant++) { //Every configuration
+            WilnerBinarySearchTree<Integer> tree = tree(variant, new TreeSet<>(), 100, variant); //Some elements
+            Spliterator<Integer> s = tree.spliterator(); //Whole tree
+            assertTrue(s.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED)); //Always
+            assertEquals(tree.orderStatistics, s.hasCharacteristics(Spliterator.SUBSIZED)); //Only with counts
+            assertNull(s.getComparator()); //Natural ordering
+            Spliterator<Integer> prefix = s.trySplit(); //Pieces keep the ordering guarantees
+            assertNotNull(prefix); //100 elements split
+            assertTrue(prefix.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL)); //Same guarantees
+        }
+        Spliterator<Integer> empty = new WilnerAVLTree<Integer>().spliterator(); //Empty tree
+        assertNull(empty.trySplit()); //Nothing to split
+        assertFalse(empty.tryAdvance(e -> fail())); //Nothing to visit
+        assertEquals(0, empty.estimateSize()); //Exact
+    }
+
+    @Test
+    void parallelStreamsMatchTreeSet() { //Parallel reductions and ordered collection give the sequential answers
+        for (int variant = 0; variant < 4; variant++) { //Every configuration
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            WilnerBinarySearchTree<Integer> tree = tree(variant, ref, 40000, 99 + variant); //Large enough to be split
+            assertEquals(ref.stream().mapToLong(Integer::longValue).sum(), tree.parallelStream().mapToLong(Integer::longValue).sum(), "sum " + variant); //Reduction
+            assertEquals(new ArrayList<>(ref), tree.parallelStream().collect(Collectors.toList()), "collect " + variant); //Encounter order kept
+            assertEquals(ref.size(), tree.parallelStream().count(), "count " + variant); //SIZED shortcut or traversal
+            assertEquals(ref.stream().filter(k -> k % 3 == 0).collect(Collectors.toList()), tree.parallelStream().filter(k -> k % 3 == 0).collect(Collectors.toList()), "filter " + variant); //Ordered filter
+            assertEquals(ref.first(), tree.parallelStream().findFirst().orElse(null), "findFirst " + variant); //Leftmost piece first
+        }
+    }
+
+    @Test
+    void bufferedWritesAreVisible() { //spliterator() splits the tree with every buffered write applied
+        for (boolean counts : new boolean[] { false, true }) { //Exact and estimated splits
+            WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Buffered tree
+            tree.setOrderStatistics(counts); //Configuration
+            tree.setWriteBuffer(256); //Writes pile up
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            Random rnd = new Random(counts ? 1 : 2); //Deterministic
+            for (int i = 0; i < 3000; i++) { //Inserts and deletes, many still buffered at the end
+                int k = rnd.nextInt(KEYS); //Key
+                if (rnd.nextInt(4) == 0) { ref.remove(k); tree.bufferDelete(k); } else { ref.add(k); tree.bufferInsert(k); } //Resolved by the merge
+            }
+            List<Spliterator<Integer>> leaves = new ArrayList<>(); //Pieces
+            splitAll(tree.spliterator(), 6, leaves); //Split after the flush
+            List<Integer> all = new ArrayList<>(); //Concatenated
+            for (Spliterator<Integer> leaf : leaves) leaf.forEachRemaining(all::add); //Traverse
+            assertEquals(new ArrayList<>(ref), all, "counts " + counts); //Everything buffered is there
+            assertEquals(new ArrayList<>(ref), tree.parallelStream().collect(Collectors.toList()), "parallel " + counts); //Same through a stream
+        }
+    }
+
+    @Test
+    void failFast() { //Structural changes during traversal are reported
+        for (int variant = 0; variant < 4; variant++) { //Every configuration
+            WilnerBinarySearchTree<Integer> tree = tree(variant, new TreeSet<>(), 200, variant); //Some elements
+            Spliterator<Integer> s = tree.spliterator(); //Bound to the current version
+            assertTrue(s.tryAdvance(e -> {})); //Started
+            tree.insert(-1); //Structural change
+            assertThrows(ConcurrentModificationException.class, () -> s.tryAdvance(e -> {}), "tryAdvance " + variant); //Per-element check
+            Spliterator<Integer> t = tree.spliterator(); //Fresh one
+            assertThrows(ConcurrentModificationException.class, () -> t.forEachRemaining(e -> tree.delete(-1)), "forEachRemaining " + variant); //Checked at the end
+            assertThrows(NullPointerException.class, () -> tree.spliterator().tryAdvance(null)); //Contract
+        }
+    }
+}
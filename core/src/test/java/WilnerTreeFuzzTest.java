@@ -0,0 +1,101 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+class WilnerTreeFuzzTest { //Random operation sequences checked step by step against java.util.TreeSet
+    private static final int KEYS = 200;   //Key space: small, so operations collide often
+    private static final int STEPS = 4000; //Operations per sequence
+
+    private static BigDecimal key(Random rnd) { //Equal by compareTo is not equal by equals: 1, 1.0 and 1.00 are one element to a tree, three to List.equals
+        return new BigDecimal(rnd.nextInt(KEYS)).setScale(rnd.nextInt(3)); //Random scale, so replacements are visible in the contents
+    }
+
+    @Test
+    void bufferedWritesMatchTreeSet() { //bufferInsert/bufferDelete leave the same contents as immediate writes, for any buffer size and flush pattern
+        for (int capacity : new int[] { 0, 1, 2, 7, 64, 1024 }) { //Off, tiny buffers that flush constantly, big ones that rarely do
+            for (long seed = 0; seed < 4; seed++) { //A few sequences per capacity
+                Random rnd = new Random(seed * 31 + capacity); //Deterministic
+                WilnerAVLTree<BigDecimal> tree = new WilnerAVLTree<>(); //Tree under test
+                tree.setOrderStatistics(seed % 2 == 0); //Counts kept up by the batch merge too
+                tree.setFingerSearch(seed >= 2); //Finger state must survive batches
+                tree.setAccessCache(seed == 1 ? 16 : 0); //Cached elements must not survive their deletion in a batch
+                tree.setWriteBuffer(capacity); //Buffered mode
+                TreeSet<BigDecimal> ref = new TreeSet<>(); //Reference: compareTo-based, first stored element kept
+                for (int step = 0; step < STEPS; step++) { //Random operations
+                    BigDecimal k = key(rnd); //Key
+                    String where = "capacity " + capacity + " seed " + seed + " step " + step; //Failure context
+                    int op = rnd.nextInt(12); //Operation
+                    if (seed % 2 == 1 && op >= 6 && rnd.nextInt(10) != 0) op = rnd.nextInt(6); //Reads flush, so make them rare here: long batches with several writes per element
+                    switch (op) { //Operation
+                        case 0: case 1: case 2: case 3: ref.add(k); tree.bufferInsert(k); break; //Buffered insert: most of the work
+                        case 4: case 5: ref.remove(k); tree.bufferDelete(k); break; //Buffered delete
+                        case 6: assertEquals(ref.add(k), tree.add(k), where + " add " + k); break; //Exact insert applies the buffer first
+                        case 7: assertEquals(ref.remove(k), tree.remove(k), where + " remove " + k); break; //Exact delete too
+                        case 8: assertEquals(ref.contains(k), tree.contains(k), where + " contains " + k); break; //Search sees buffered writes
+                        case 9: assertEquals(ref.size(), tree.size(), where + " size"); break; //Size applies them
+                        case 10: assertEquals(new ArrayList<>(ref), new ArrayList<>(tree), where + " iteration"); break; //Same elements, same scales
+                        default: if (rnd.nextInt(20) == 0) tree.flush(); //Explicit flushes now and then
+                    }
+                }
+                assertEquals(new ArrayList<>(ref), tree.inorderList(), "final " + capacity + "/" + seed); //Final contents, stored forms included
+                assertEquals(ref.size(), tree.getSize()); //Final size
+                WilnerTreeShapes.checkPreorder(tree.preorderList(), true); //Merged batches keep the tree an AVL search tree
+                if (tree.isOrderStatisticsEnabled()) for (int i = 0; i < ref.size(); i += 7) assertEquals(i, tree.rank(tree.select(i))); //Counts right after joins
+            }
+        }
+    }
+
+    @Test
+    void equalByCompareToIsOneElement() { //1.0 and 1.00 differ by equals and hashCode, but not to the tree
+        WilnerAVLTree<BigDecimal> tree = new WilnerAVLTree<>(); //Tree under test
+        tree.setWriteBuffer(64); //Buffered mode
+        assertTrue(tree.insert(new BigDecimal("1.0"))); //Added
+        assertFalse(tree.insert(new BigDecimal("1.00")), "duplicate by compareTo"); //Same as unbuffered
+        tree.flush(); //Nothing pending anyway
+        assertEquals(1, tree.getSize()); //One element
+        assertEquals(List.of(new BigDecimal("1.0")), tree.inorderList()); //First one kept
+
+        tree.clear(); //Same through the buffered path
+        tree.bufferInsert(new BigDecimal("1.0")); //Pending
+        assertTrue(tree.search(new BigDecimal("1.00")), "buffered insert invisible to search"); //Search applies the buffer
+        tree.bufferInsert(new BigDecimal("1.00")); //Duplicate, resolved by the merge
+        tree.flush(); //Apply
+        assertEquals(List.of(new BigDecimal("1.0")), tree.inorderList()); //Still the first one
+
+        tree.bufferDelete(new BigDecimal("1")); //Deletes the stored 1.0
+        tree.bufferInsert(new BigDecimal("1.00")); //Then a new element goes in
+        tree.bufferInsert(new BigDecimal("1.000")); //Duplicate of that one
+        assertEquals(List.of(new BigDecimal("1.00")), tree.inorderList(), "delete then insert replaces"); //Like the immediate sequence
+        assertEquals(1, tree.size()); //One element
+
+        tree.bufferInsert(new BigDecimal("2.0")); //Insert...
+        tree.bufferDelete(new BigDecimal("2.00")); //...then delete, in one batch
+        tree.bufferDelete(new BigDecimal("3")); //Miss
+        assertEquals(List.of(new BigDecimal("1.00")), tree.inorderList(), "cancelled insert and missed delete"); //Nothing else changed
+        assertEquals(1, tree.size()); //Misses do not count
+
+        assertThrows(NullPointerException.class, () -> tree.bufferInsert(null)); //Rejected up front, not inside the batch sort
+        assertEquals(1, tree.size()); //Buffer untouched
+    }
+
+    @Test
+    void exactWritesStayExactWithBuffering() { //insert/delete return the same results and leave modCount alone on no-ops, buffered mode or not
+        for (int capacity : new int[] { 0, 1, 64 }) { //Off and on
+            WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Tree under test
+            tree.setWriteBuffer(capacity); //Mode
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            Random rnd = new Random(capacity); //Deterministic
+            for (int step = 0; step < STEPS; step++) { //Random exact writes
+                int k = rnd.nextInt(KEYS); //Key
+                int before = tree.modCount; //Only real changes may bump it
+                boolean add = rnd.nextBoolean(); //Operation
+                boolean changed = add ? ref.add(k) : ref.remove(k); //Expected result
+                assertEquals(changed, add ? tree.insert(k) : tree.delete(k), "step " + step); //Same answer
+                if (!changed) assertEquals(before, tree.modCount, "no-op bumped modCount"); //Iterators stay valid
+            }
+            assertEquals(new ArrayList<>(ref), tree.inorderList()); //Same contents
+        }
+    }
+}
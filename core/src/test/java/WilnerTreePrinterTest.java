@@ -0,0 +1,156 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+import org.junit.jupiter.api.*;
+
+class WilnerTreePrinterTest { //Appendable traversal output checked against the same text built from TreeSet and the List traversals
+    private static final String NL = System.lineSeparator(); //println's line ending
+
+    private static String line(Iterable<?> elements) { //"e1 e2 ... " and a line break, via toString: the format of the old print loops
+        StringBuilder sb = new StringBuilder(); //Expected text
+        for (Object e : elements) sb.append(e).append(' '); //Each element followed by a space
+        return sb.append(NL).toString(); //End of line
+    }
+
+    private static <E extends Comparable<E>> List<WilnerTree<E>> trees() { //Every generic implementation, plus a snapshot
+        List<WilnerTree<E>> trees = new ArrayList<>(); //Result
+        trees.add(new WilnerBinarySearchTree<>()); //Unbalanced BST
+        trees.add(new WilnerAVLTree<>()); //AVL tree
+        trees.add(new WilnerBTree<>(4)); //Small fanout: many nodes
+        trees.add(new WilnerConcurrentTree<>()); //Dumps from a snapshot
+        trees.add(new WilnerPersistentAVLTree<>()); //Path-copying
+        return trees; //All empty
+    }
+
+    private static <E extends Comparable<E>> void assertPrints(WilnerTree<E> tree, TreeSet<E> ref) throws IOException { //Every Appendable method against the List traversals
+        String name = tree.getClass().getSimpleName(); //Failure context
+        StringBuilder in = new StringBuilder(), pre = new StringBuilder(), post = new StringBuilder(), all = new StringBuilder(); //Destinations
+        tree.inorder(in); tree.preorder(pre); tree.postorder(post); tree.WilnerOutput(all); //Stream them
+        assertEquals(line(ref), in.toString(), name + " inorder"); //Same as TreeSet
+        assertEquals(line(tree.preorderList()), pre.toString(), name + " preorder"); //Same as the List form
+        assertEquals(line(tree.postorderList()), post.toString(), name + " postorder"); //Same as the List form
+        String expected = "Number of nodes: " + ref.size() + NL + "Inorder: " + line(ref) + "Preorder: " + line(tree.preorderList()) + "Postorder: " + line(tree.postorderList()); //Old println layout
+        assertEquals(expected, all.toString(), name + " WilnerOutput"); //Byte-for-byte
+    }
+
+    @Test
+    void integersMatchToString() throws IOException { //Digit formatting, extremes and sign included, equals Integer.toString
+        Random rnd = new Random(3); //Deterministic
+        for (WilnerTree<Integer> tree : WilnerTreePrinterTest.<Integer>trees()) { //Each implementation
+            TreeSet<Integer> ref = new TreeSet<>(); //Reference
+            for (int k : new int[] { 0, -1, 1, 9, 10, -10, Integer.MIN_VALUE, Integer.MAX_VALUE }) { tree.insert(k); ref.add(k); } //Edge cases
+            for (int i = 0; i < 3000; i++) { int k = rnd.nextInt(); tree.insert(k); ref.add(k); } //Wide random keys: several 8K chunks
+            assertPrints(tree, ref); //All four outputs
+            if (tree instanceof WilnerConcurrentTree) assertPrints(((WilnerConcurrentTree<Integer>)tree).snapshot(), ref); //Snapshots print the same
+        }
+    }
+
+    @Test
+    void longsAndOtherObjects() throws IOException { //Long.MIN_VALUE cannot be negated; non-numbers go through toString
+        for (WilnerTree<Long> tree : WilnerTreePrinterTest.<Long>trees()) { //Boxed longs
+            TreeSet<Long> ref = new TreeSet<>(); //Reference
+            for (long k : new long[] { Long.MIN_VALUE, Long.MIN_VALUE + 1, -1, 0, 1, Long.MAX_VALUE, 1L << 40 }) { tree.insert(k); ref.add(k); } //Extremes
+            assertPrints(tree, ref); //All four outputs
+        }
+        for (WilnerTree<String> tree : WilnerTreePrinterTest.<String>trees()) { //Strings, one longer than the buffer
+            TreeSet<String> ref = new TreeSet<>(); //Reference
+            char[] wide = new char[20000]; Arrays.fill(wide, 'w'); //Element longer than the 8K buffer
+            for (String s : new String[] { "pear", "apple", "", new String(wide), "zebra" }) { tree.insert(s); ref.add(s); } //Mixed lengths
+            assertPrints(tree, ref); //All four outputs
+        }
+        for (WilnerTree<Integer> tree : WilnerTreePrinterTest.<Integer>trees()) assertPrints(tree, new TreeSet<>()); //Empty trees print empty lines
+    }
+
+    @Test
+    void primitiveTreesMatchTreeSet() throws IOException { //IntAVLTree, LongAVLTree and OffHeapLongAVLTree write keys without boxing
+        Random rnd = new Random(11); //Deterministic
+        IntAVLTree ints = new IntAVLTree(); //Primitive int keys
+        LongAVLTree longs = new LongAVLTree(); //Primitive long keys
+        try (OffHeapLongAVLTree offHeap = new OffHeapLongAVLTree()) { //Off-heap long keys
+            TreeSet<Integer> intRef = new TreeSet<>(); TreeSet<Long> longRef = new TreeSet<>(); //References
+            for (int k : new int[] { Integer.MIN_VALUE, Integer.MAX_VALUE, 0 }) { ints.insert(k); intRef.add(k); } //Int extremes
+            for (long k : new long[] { Long.MIN_VALUE, Long.MAX_VALUE, 0 }) { longs.insert(k); offHeap.insert(k); longRef.add(k); } //Long extremes
+            for (int i = 0; i < 4000; i++) { //Random keys, several chunks of output
+                int k = rnd.nextInt(); ints.insert(k); intRef.add(k); //Int
+                long l = rnd.nextLong(); longs.insert(l); offHeap.insert(l); longRef.add(l); //Long
+            }
+            StringBuilder in = new StringBuilder(); ints.inorder(in); assertEquals(line(intRef), in.toString(), "IntAVLTree inorder"); //Ints
+            List<Integer> intPre = new ArrayList<>(); ints.preorder((IntConsumer)intPre::add); //Preorder through the consumer form
+            StringBuilder pre = new StringBuilder(); ints.preorder(pre); assertEquals(line(intPre), pre.toString(), "IntAVLTree preorder"); //Same order, same text
+            List<Integer> intPost = new ArrayList<>(); ints.postorder((IntConsumer)intPost::add); //Postorder through the consumer form
+            StringBuilder post = new StringBuilder(); ints.postorder(post); assertEquals(line(intPost), post.toString(), "IntAVLTree postorder"); //Same order, same text
+            for (Object t : new Object[] { longs, offHeap }) { //Both long trees
+                String name = t.getClass().getSimpleName(); //Failure context
+                StringBuilder lin = new StringBuilder(), lpre = new StringBuilder(), lpost = new StringBuilder(); //Destinations
+                List<Long> preKeys = new ArrayList<>(), postKeys = new ArrayList<>(); //Consumer traversals
+                if (t instanceof LongAVLTree) { LongAVLTree l = (LongAVLTree)t; l.inorder(lin); l.preorder(lpre); l.postorder(lpost); l.preorder((LongConsumer)preKeys::add); l.postorder((LongConsumer)postKeys::add); } //Heap arrays
+                else { OffHeapLongAVLTree l = (OffHeapLongAVLTree)t; l.inorder(lin); l.preorder(lpre); l.postorder(lpost); l.preorder((LongConsumer)preKeys::add); l.postorder((LongConsumer)postKeys::add); } //Direct memory
+                assertEquals(line(longRef), lin.toString(), name + " inorder"); //Same as TreeSet
+                assertEquals(line(preKeys), lpre.toString(), name + " preorder"); //Same order, same text
+                assertEquals(line(postKeys), lpost.toString(), name + " postorder"); //Same order, same text
+            }
+        }
+    }
+
+    @Test
+    void everyAppendableKindGetsTheSameText() throws IOException { //Writer and StringBuilder fast paths, the generic CharSequence path, and flushing
+        WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Enough output for several chunks
+        for (int i = 0; i < 5000; i++) tree.insert(i * 7919 - 20000000); //Negative and positive keys
+        StringBuilder expected = new StringBuilder(); tree.WilnerOutput(expected); //StringBuilder path
+        StringWriter writer = new StringWriter(); tree.WilnerOutput(writer); //Writer path
+        assertEquals(expected.toString(), writer.toString(), "Writer"); //Same text
+        StringBuffer buffer = new StringBuffer(); tree.WilnerOutput(buffer); //Generic Appendable path
+        assertEquals(expected.toString(), buffer.toString(), "StringBuffer"); //Same text
+        StringWriter sink = new StringWriter(); //Behind a buffering writer
+        BufferedWriter buffered = new BufferedWriter(sink, 1 << 20); //Holds everything unless flushed
+        tree.WilnerOutput(buffered); //Should end with a flush
+        assertEquals(expected.toString(), sink.toString(), "BufferedWriter not flushed"); //Flushable destinations are flushed
+        int[] largest = { 0 }, calls = { 0 }; //Chunk statistics
+        Appendable chunks = new Appendable() { //Records how the output arrives
+            public Appendable append(CharSequence s) { largest[0] = Math.max(largest[0], s.length()); calls[0]++; return this; } //One call per chunk
+            public Appendable append(CharSequence s, int from, int to) { return append(s.subSequence(from, to)); } //Same
+            public Appendable append(char c) { return append(String.valueOf(c)); } //Same
+        };
+        tree.WilnerOutput(chunks); //Generic path
+        assertTrue(largest[0] <= 8192, "chunk of " + largest[0]); //Memory bounded by the buffer
+        assertTrue(calls[0] <= expected.length() / 8192 + 2, calls[0] + " calls"); //Whole chunks, not one call per element
+    }
+
+    @Test
+    void ioExceptionsReachTheCaller() { //Failures from the destination surface as the original checked IOException
+        WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Output larger than one chunk, so the failure happens mid-traversal
+        for (int i = 0; i < 5000; i++) tree.insert(i); //Keys
+        IntAVLTree ints = new IntAVLTree(); //Primitive path too
+        for (int i = 0; i < 5000; i++) ints.insert(i); //Keys
+        IOException failure = new IOException("disk full"); //Thrown by the destination
+        Writer broken = new Writer() { //Fails on the first write
+            public void write(char[] c, int off, int len) throws IOException { throw failure; } //Always fails
+            public void flush() {} //Nothing
+            public void close() {} //Nothing
+        };
+        assertSame(failure, assertThrows(IOException.class, () -> tree.inorder(broken)), "mid-traversal"); //Not wrapped in UncheckedIOException
+        assertSame(failure, assertThrows(IOException.class, () -> tree.WilnerOutput(broken)), "WilnerOutput"); //Same
+        assertSame(failure, assertThrows(IOException.class, () -> ints.preorder(broken)), "primitive"); //Same
+        WilnerAVLTree<Integer> small = new WilnerAVLTree<>(); small.insert(1); //Fits in one chunk: fails at the final flush
+        assertSame(failure, assertThrows(IOException.class, () -> small.postorder(broken)), "final flush"); //Same
+    }
+
+    @Test
+    void stdoutPrintsTheSameAsAppendable() throws IOException { //inorder(), preorder(), postorder() and WilnerOutput() go through the same printer
+        WilnerBinarySearchTree<Integer> tree = new WilnerBinarySearchTree<>(); //Any tree
+        for (int k : new int[] { 50, 30, 70, 20, 40, 60, 80, -5 }) tree.insert(k); //Small tree
+        StringBuilder expected = new StringBuilder(); //Appendable forms
+        tree.inorder(expected); tree.preorder(expected); tree.postorder(expected); tree.WilnerOutput(expected); //Same sequence as below
+        PrintStream original = System.out; //Restore afterwards
+        ByteArrayOutputStream captured = new ByteArrayOutputStream(); //Redirected stdout
+        try { //Always restore System.out
+            System.setOut(new PrintStream(captured, true)); //Capture
+            tree.inorder(); tree.preorder(); tree.postorder(); tree.WilnerOutput(); //Print forms
+        } finally { //Even on failure
+            System.setOut(original); //Restore
+        }
+        assertEquals(expected.toString(), captured.toString()); //Identical text
+    }
+}
@@ -0,0 +1,26 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+final class WilnerTreeShapes { //Shape checks through preorder output, which determines a binary search tree uniquely
+    private WilnerTreeShapes() {} //Static helpers only
+
+    static <T extends Comparable<? super T>> List<T> checkPreorder(List<T> preorder, boolean avl) { //Assert preorder is a valid search tree (AVL-balanced if avl) and return its postorder
+        List<T> postorder = new ArrayList<>(preorder.size()); //Filled children-first while rebuilding
+        int[] at = {0}; //Cursor into preorder
+        rebuild(preorder, at, null, null, avl, postorder); //Consumes one subtree per call
+        assertEquals(preorder.size(), at[0], "preorder is not a search tree at index " + at[0]); //Leftovers mean the order was violated
+        return postorder; //Same tree, children first
+    }
+
+    private static <T extends Comparable<? super T>> int rebuild(List<T> pre, int[] at, T lo, T hi, boolean avl, List<T> post) { //Height of the subtree whose keys lie in (lo, hi)
+        if (at[0] == pre.size()) return 0; //No more nodes
+        T k = pre.get(at[0]); //Candidate subtree root
+        if ((lo != null && k.compareTo(lo) <= 0) || (hi != null && k.compareTo(hi) >= 0)) return 0; //Belongs to an ancestor: empty subtree here
+        at[0]++; //Consume the root
+        int l = rebuild(pre, at, lo, k, avl, post), r = rebuild(pre, at, k, hi, avl, post); //Left keys come first in preorder
+        if (avl) assertTrue(Math.abs(l - r) <= 1, "unbalanced at " + k + ": " + l + " vs " + r); //AVL invariant
+        post.add(k); //Children first
+        return Math.max(l, r) + 1; //Height
+    }
+}
@@ -0,0 +1,87 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+class WilnerTreeStoreTest { //Snapshot save/load round trips and rejection of damaged files
+    @TempDir
+    Path dir; //Fresh per test
+
+    private static <E extends Comparable<E>> void assertRoundTrip(WilnerAVLTree<E> tree, WilnerKeyCodec<E> codec, Path file) throws IOException { //Save, load into a fresh tree, compare with TreeSet
+        TreeSet<E> ref = new TreeSet<>(tree); //Expected contents
+        tree.save(file, codec); //Write
+        WilnerAVLTree<E> copy = new WilnerAVLTree<>(); //Fresh tree
+        copy.setOrderStatistics(true); //bulkLoad must set counts too
+        if (!ref.isEmpty()) copy.add(ref.first()); //Old contents are replaced
+        copy.load(file, codec); //Read back
+        assertEquals(new ArrayList<>(ref), copy.inorderList()); //Same keys, ascending
+        assertEquals(ref.size(), copy.getSize()); //Same size
+        if (!ref.isEmpty()) assertEquals(ref.last(), copy.select(ref.size() - 1)); //Counts were built
+        WilnerTreeShapes.checkPreorder(copy.preorderList(), true); //Balanced build
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp"))); //Temporary file was renamed away
+    }
+
+    @Test
+    void roundTripsEveryCodec() throws IOException { //Empty, small, and more keys than one write buffer holds
+        Random rnd = new Random(14); //Deterministic
+        for (int n : new int[] { 0, 1, 1000, 300_000 }) { //300000 ints and longs span more than one 1 MiB buffer
+            WilnerAVLTree<Integer> ints = new WilnerAVLTree<>(); //Int keys
+            WilnerAVLTree<Long> longs = new WilnerAVLTree<>(); //Long keys
+            for (int i = 0; i < n; i++) { ints.add(rnd.nextInt()); longs.add(rnd.nextLong()); } //Full range, negatives included
+            assertRoundTrip(ints, WilnerKeyCodec.INT, dir.resolve("ints-" + n)); //Fixed width, bulk path
+            assertRoundTrip(longs, WilnerKeyCodec.LONG, dir.resolve("longs-" + n)); //Fixed width, bulk path
+        }
+        WilnerAVLTree<String> strings = new WilnerAVLTree<>(); //Variable width
+        strings.add(""); strings.add("bär"); strings.add("🌳 tree"); //Empty and multi-byte keys
+        char[] big = new char[1 << 20]; //Wider than the write buffer once UTF-8 encoded
+        Arrays.fill(big, 'é'); //Two bytes each
+        strings.add(new String(big)); //Forces the buffer to grow
+        for (int i = 0; i < 5000; i++) strings.add(Integer.toString(rnd.nextInt(), 36)); //Many small keys
+        assertRoundTrip(strings, WilnerKeyCodec.STRING, dir.resolve("strings")); //Per-key path
+    }
+
+    @Test
+    void rejectsDamagedOrForeignFiles() throws IOException { //Every check in load() fires, and the tree keeps its contents
+        WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Source
+        for (int k = 0; k < 1000; k++) tree.add(k * 7); //Some keys
+        Path file = dir.resolve("snap"); //Good snapshot
+        tree.save(file, WilnerKeyCodec.INT); //Write
+        byte[] good = Files.readAllBytes(file); //Pristine bytes
+        WilnerAVLTree<Integer> target = new WilnerAVLTree<>(); //Load target
+        target.add(-1); //Existing contents
+        IOException ex = assertThrows(IOException.class, () -> new WilnerAVLTree<Long>().load(file, WilnerKeyCodec.LONG)); //Wrong codec
+        assertTrue(ex.getMessage().contains("codec"), ex.getMessage()); //Says why
+        for (int[] damage : new int[][] { { WilnerTreeStore.HEADER_BYTES + 100, 0x01 }, { 0, 0xFF }, { 4, 0x02 } }) { //Payload bit flip, magic, version
+            byte[] bad = good.clone(); //Copy
+            bad[damage[0]] ^= damage[1]; //Flip bits
+            Files.write(file, bad); //Damaged file
+            assertThrows(IOException.class, () -> target.load(file, WilnerKeyCodec.INT), "damage at " + damage[0]); //Rejected
+        }
+        Files.write(file, Arrays.copyOf(good, good.length - 3)); //Truncated payload
+        assertThrows(IOException.class, () -> target.load(file, WilnerKeyCodec.INT)); //Rejected
+        Files.write(file, Arrays.copyOf(good, 10)); //Truncated header
+        assertThrows(IOException.class, () -> target.load(file, WilnerKeyCodec.INT)); //Rejected
+        assertEquals(List.of(-1), target.inorderList()); //Failed loads leave the tree alone
+    }
+
+    @Test
+    void failedSaveKeepsTheOldSnapshotAndLeavesNoTemporaryFile() throws IOException { //A codec failure halfway through the keys
+        WilnerAVLTree<Integer> tree = new WilnerAVLTree<>(); //Source
+        for (int k = 0; k < 100; k++) tree.add(k); //Keys
+        Path file = dir.resolve("snap"); //Target
+        tree.save(file, WilnerKeyCodec.INT); //Good snapshot first
+        byte[] before = Files.readAllBytes(file); //Its bytes
+        WilnerKeyCodec<Integer> failing = new WilnerKeyCodec<Integer>() { //Same id as INT, throws on key 50
+            @Override public int id() { return 1; } //Compatible id
+            @Override public void write(Integer e, ByteBuffer out) { if (e == 50) throw new IllegalStateException("boom"); out.putInt(e); } //Fails midway
+            @Override public Integer read(ByteBuffer in) { return in.getInt(); } //Unused
+        };
+        assertThrows(IllegalStateException.class, () -> tree.save(file, failing)); //Original failure propagates
+        assertArrayEquals(before, Files.readAllBytes(file)); //Old snapshot untouched
+        assertFalse(Files.exists(dir.resolve("snap.tmp"))); //Temporary file deleted
+    }
+}